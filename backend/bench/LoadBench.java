@@ -0,0 +1,147 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 压测客户端（无第三方依赖，直接 java LoadBench.java 运行）
+ *
+ * 固定并发数的闭环压测：每个并发各自循环请求，预热后统计吞吐与延迟分位数。
+ *
+ * 用法：java LoadBench.java --base http://localhost:8080/api --concurrency 200 \
+ *        --warmup 10 --duration 30 --label platform /blogs?page=1&size=10 /blogs/1
+ *
+ * @author River
+ */
+public class LoadBench {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        options.put("base", "http://localhost:8080/api");
+        options.put("concurrency", "200");
+        options.put("warmup", "10");
+        options.put("duration", "30");
+        options.put("label", "run");
+        List<String> paths = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].startsWith("--")) {
+                options.put(args[i].substring(2), args[++i]);
+            } else {
+                paths.add(args[i]);
+            }
+        }
+        if (paths.isEmpty()) {
+            paths = List.of("/blogs?page=1&size=10", "/blogs/1");
+        }
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        for (String path : paths) {
+            Result result = run(client, URI.create(options.get("base") + path),
+                    Integer.parseInt(options.get("concurrency")),
+                    Integer.parseInt(options.get("warmup")),
+                    Integer.parseInt(options.get("duration")));
+            System.out.println(result.toJson(options.get("label"), path, options.get("concurrency")));
+        }
+    }
+
+    private static Result run(HttpClient client, URI uri, int concurrency, int warmupSeconds, int durationSeconds)
+            throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build();
+        long warmupEnd = System.nanoTime() + warmupSeconds * 1_000_000_000L;
+        long end = warmupEnd + durationSeconds * 1_000_000_000L;
+
+        long[][] latencies = new long[concurrency][];
+        int[] counts = new int[concurrency];
+        int[] errors = new int[concurrency];
+        CountDownLatch done = new CountDownLatch(concurrency);
+
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int w = 0; w < concurrency; w++) {
+                int worker = w;
+                workers.execute(() -> {
+                    long[] samples = new long[1024];
+                    int n = 0;
+                    try {
+                        while (true) {
+                            long start = System.nanoTime();
+                            if (start >= end) {
+                                break;
+                            }
+                            boolean ok;
+                            try {
+                                HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                                ok = response.statusCode() < 400;
+                            } catch (Exception e) {
+                                ok = false;
+                            }
+                            long elapsed = System.nanoTime() - start;
+                            if (start < warmupEnd) {
+                                continue;
+                            }
+                            if (!ok) {
+                                errors[worker]++;
+                            }
+                            if (n == samples.length) {
+                                samples = Arrays.copyOf(samples, n * 2);
+                            }
+                            samples[n++] = elapsed;
+                        }
+                    } finally {
+                        latencies[worker] = samples;
+                        counts[worker] = n;
+                        done.countDown();
+                    }
+                });
+            }
+            done.await();
+        }
+
+        int total = 0;
+        int errorCount = 0;
+        for (int w = 0; w < concurrency; w++) {
+            total += counts[w];
+            errorCount += errors[w];
+        }
+        long[] all = new long[total];
+        int offset = 0;
+        for (int w = 0; w < concurrency; w++) {
+            System.arraycopy(latencies[w], 0, all, offset, counts[w]);
+            offset += counts[w];
+        }
+        Arrays.sort(all);
+        return new Result(total, errorCount, durationSeconds, all);
+    }
+
+    private record Result(int requests, int errors, int durationSeconds, long[] sorted) {
+
+        double percentileMillis(double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+            return sorted[Math.max(0, index)] / 1_000_000.0;
+        }
+
+        String toJson(String label, String path, String concurrency) {
+            return String.format(
+                    "{\"label\":\"%s\",\"path\":\"%s\",\"concurrency\":%s,\"requests\":%d,\"errors\":%d,"
+                            + "\"rps\":%.1f,\"p50Ms\":%.2f,\"p90Ms\":%.2f,\"p99Ms\":%.2f,\"maxMs\":%.2f}",
+                    label, path, concurrency, requests, errors, (double) requests / durationSeconds,
+                    percentileMillis(0.50), percentileMillis(0.90), percentileMillis(0.99), percentileMillis(1.0));
+        }
+    }
+}
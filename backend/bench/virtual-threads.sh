@@ -0,0 +1,68 @@
+#!/usr/bin/env bash
+# =============================================
+# 平台线程 / 虚拟线程 对比压测
+#
+# 依次以两种模式启动后端，对 /blogs 与 /blogs/{id} 做相同并发的压测，
+# 结果（JSON 行）与应用日志写入 target/bench/。
+# 虚拟线程模式开启 -Djdk.tracePinnedThreads=short，统计 JDBC 驱动等处的载体线程钉住次数。
+#
+# 用法：bench/virtual-threads.sh [并发数] [压测秒数]
+# 环境变量：SPRING_PROFILES（默认 dev）、POST_ID（默认 1）、WARMUP（默认 10 秒）、PORT（默认 8080）
+# =============================================
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+CONCURRENCY="${1:-200}"
+DURATION="${2:-30}"
+WARMUP="${WARMUP:-10}"
+PORT="${PORT:-8080}"
+POST_ID="${POST_ID:-1}"
+PROFILE="${SPRING_PROFILES:-dev}"
+OUT=target/bench
+BASE="http://localhost:${PORT}/api"
+
+mkdir -p "$OUT"
+mvn -B -q -DskipTests package
+JAR=$(ls target/*.jar | grep -v original | head -1)
+
+run_mode() {
+  local mode=$1 virtual=$2
+  local log="$OUT/$mode.log"
+
+  java -Djdk.tracePinnedThreads=short -jar "$JAR" \
+    --spring.profiles.active="$PROFILE" \
+    --server.port="$PORT" \
+    --spring.threads.virtual.enabled="$virtual" \
+    >"$log" 2>&1 &
+  local pid=$!
+  trap "kill $pid 2>/dev/null || true" EXIT
+
+  for _ in $(seq 1 60); do
+    if curl -sf -o /dev/null "$BASE/blogs?page=1&size=1"; then
+      break
+    fi
+    sleep 1
+  done
+
+  java bench/LoadBench.java --base "$BASE" --concurrency "$CONCURRENCY" \
+    --warmup "$WARMUP" --duration "$DURATION" --label "$mode" \
+    "/blogs?page=1&size=10" "/blogs/${POST_ID}" | tee -a "$OUT/results.jsonl"
+
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  trap - EXIT
+
+  # jdk.tracePinnedThreads 每次钉住打印一段栈，含 "<== monitors" 的行指向持有监视器的帧
+  local pinned
+  pinned=$(grep -c "<== monitors" "$log" || true)
+  echo "{\"label\":\"$mode\",\"pinnedStackFrames\":$pinned}" | tee -a "$OUT/results.jsonl"
+  if [ "$pinned" -gt 0 ]; then
+    grep "<== monitors" "$log" | sort | uniq -c | sort -rn | head -10
+  fi
+}
+
+: >"$OUT/results.jsonl"
+run_mode platform false
+run_mode virtual true
+echo "结果：$OUT/results.jsonl"
@@ -47,7 +47,8 @@ CREATE TABLE `blog_posts` (
   PRIMARY KEY (`id`),
   KEY `idx_user_id` (`user_id`),
   KEY `idx_status` (`status`),
-  KEY `idx_created_at` (`created_at`)
+  KEY `idx_created_at` (`created_at`),
+  KEY `idx_status_created_at_id` (`status`, `created_at`, `id`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='博客文章表';
 
 -- =============================================
@@ -57,9 +58,11 @@ DROP TABLE IF EXISTS `blog_tags`;
 CREATE TABLE `blog_tags` (
   `id` BIGINT NOT NULL AUTO_INCREMENT COMMENT '标签ID',
   `name` VARCHAR(50) NOT NULL COMMENT '标签名称',
+  `post_count` INT NOT NULL DEFAULT 0 COMMENT '文章数（随文章标签关联同步维护）',
   `created_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
   PRIMARY KEY (`id`),
-  UNIQUE KEY `uk_name` (`name`)
+  UNIQUE KEY `uk_name` (`name`),
+  KEY `idx_created_at` (`created_at`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='博客标签表';
 
 -- =============================================
@@ -129,15 +132,19 @@ CREATE TABLE `project_tech_stack` (
 DROP TABLE IF EXISTS `uploaded_files`;
 CREATE TABLE `uploaded_files` (
   `id` BIGINT NOT NULL AUTO_INCREMENT COMMENT '文件ID',
-  `user_id` BIGINT NOT NULL COMMENT '上传者ID',
+  `user_id` BIGINT DEFAULT NULL COMMENT '首次上传者ID（注册时匿名上传为空）',
+  `content_hash` CHAR(64) NOT NULL COMMENT '内容SHA-256',
   `original_name` VARCHAR(255) NOT NULL COMMENT '原始文件名',
   `saved_name` VARCHAR(255) NOT NULL COMMENT '保存的文件名',
   `file_path` VARCHAR(500) NOT NULL COMMENT '文件路径',
   `file_url` VARCHAR(500) NOT NULL COMMENT '文件访问URL',
   `file_size` BIGINT NOT NULL COMMENT '文件大小（字节）',
   `file_type` VARCHAR(100) DEFAULT NULL COMMENT '文件类型',
+  `width` INT DEFAULT NULL COMMENT '图片宽度',
+  `height` INT DEFAULT NULL COMMENT '图片高度',
   `created_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
   PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_content_hash` (`content_hash`),
   KEY `idx_user_id` (`user_id`),
   KEY `idx_created_at` (`created_at`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='上传文件表';
@@ -159,5 +166,6 @@ CREATE TABLE `blog_comments` (
   KEY `idx_post_id` (`post_id`),
   KEY `idx_user_id` (`user_id`),
   KEY `idx_parent_id` (`parent_id`),
-  KEY `idx_created_at` (`created_at`)
+  KEY `idx_created_at` (`created_at`),
+  KEY `idx_post_parent_created` (`post_id`, `parent_id`, `created_at`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='博客评论表';
\ No newline at end of file
@@ -0,0 +1,39 @@
+-- =============================================
+-- River Personal Blog - Schema Upgrade
+-- 已有数据库按顺序执行；新库直接使用 schema.sql
+-- =============================================
+
+USE RIVER_BLOG;
+
+-- =============================================
+-- 1. 博客列表游标分页索引
+-- =============================================
+ALTER TABLE `blog_posts`
+  ADD KEY `idx_status_created_at_id` (`status`, `created_at`, `id`);
+
+-- =============================================
+-- 2. 标签文章数字段（应用启动时会按关联表校正一次）
+-- =============================================
+ALTER TABLE `blog_tags`
+  ADD COLUMN `post_count` INT NOT NULL DEFAULT 0 COMMENT '文章数（随文章标签关联同步维护）' AFTER `name`,
+  ADD KEY `idx_created_at` (`created_at`);
+
+UPDATE `blog_tags` t
+LEFT JOIN (SELECT `tag_id`, COUNT(*) AS `cnt` FROM `blog_post_tags` GROUP BY `tag_id`) c ON c.`tag_id` = t.`id`
+SET t.`post_count` = COALESCE(c.`cnt`, 0);
+
+-- =============================================
+-- 3. 评论分页索引（顶层评论与回复各走一次索引范围扫描）
+-- =============================================
+ALTER TABLE `blog_comments`
+  ADD KEY `idx_post_parent_created` (`post_id`, `parent_id`, `created_at`);
+
+-- =============================================
+-- 4. 上传文件按内容摘要去重
+-- =============================================
+ALTER TABLE `uploaded_files`
+  MODIFY COLUMN `user_id` BIGINT DEFAULT NULL COMMENT '首次上传者ID（注册时匿名上传为空）',
+  ADD COLUMN `content_hash` CHAR(64) NOT NULL COMMENT '内容SHA-256' AFTER `user_id`,
+  ADD COLUMN `width` INT DEFAULT NULL COMMENT '图片宽度' AFTER `file_type`,
+  ADD COLUMN `height` INT DEFAULT NULL COMMENT '图片高度' AFTER `width`,
+  ADD UNIQUE KEY `uk_content_hash` (`content_hash`);
@@ -3,6 +3,7 @@ package com.river.blog;
 import org.mybatis.spring.annotation.MapperScan;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * River Personal Blog - Main Application
@@ -12,6 +13,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  */
 @SpringBootApplication
 @MapperScan("com.river.blog.mapper")
+@EnableScheduling
 public class RiverBlogApplication {
     
     public static void main(String[] args) {
@@ -0,0 +1,60 @@
+package com.river.blog.component;
+
+import com.river.blog.mapper.BlogPostMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 评论数校正任务
+ * 
+ * 评论数随评论增删增量维护，这里定期按ID区间分批与评论表比对，
+ * 修复可能出现的偏差，读路径上不再做 COUNT。
+ * 
+ * @author River
+ */
+@Component
+public class CommentCountReconciler {
+    
+    private static final Logger log = LoggerFactory.getLogger(CommentCountReconciler.class);
+    
+    private final BlogPostMapper blogPostMapper;
+    private final PostDetailCache postDetailCache;
+    private final ContentVersions contentVersions;
+    
+    @Value("${blog.comments.reconcile-batch-size:1000}")
+    private long batchSize;
+    
+    public CommentCountReconciler(BlogPostMapper blogPostMapper, PostDetailCache postDetailCache,
+                                  ContentVersions contentVersions) {
+        this.blogPostMapper = blogPostMapper;
+        this.postDetailCache = postDetailCache;
+        this.contentVersions = contentVersions;
+    }
+    
+    @Scheduled(initialDelayString = "${blog.comments.reconcile-interval:3600000}",
+               fixedDelayString = "${blog.comments.reconcile-interval:3600000}")
+    public void reconcile() {
+        try {
+            Long maxId = blogPostMapper.selectMaxId();
+            if (maxId == null) {
+                return;
+            }
+            
+            int fixed = 0;
+            for (long fromId = 1; fromId <= maxId; fromId += batchSize) {
+                fixed += blogPostMapper.reconcileCommentCounts(fromId, fromId + batchSize - 1);
+            }
+            
+            if (fixed > 0) {
+                postDetailCache.invalidateAll();
+                contentVersions.allPostsChanged();
+                log.info("评论数校正完成: 修正 {} 篇博客", fixed);
+            }
+        } catch (Exception e) {
+            log.error("评论数校正失败: {}", e.getMessage());
+        }
+    }
+}
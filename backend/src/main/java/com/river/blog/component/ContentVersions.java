@@ -0,0 +1,126 @@
+package com.river.blog.component;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 内容版本号（用于 ETag / Last-Modified 条件请求）
+ * 
+ * 博客、标签、项目发生变化时递增对应版本，读接口据此在查询数据库之前判断是否可以直接返回 304。
+ * 版本只保存在内存中，ETag 中带上启动时间，重启后客户端缓存自然失效。
+ * 浏览量变化不计入版本。
+ * 
+ * @author River
+ */
+@Component
+public class ContentVersions {
+    
+    /**
+     * 版本号及其修改时间
+     */
+    public record Version(long value, long modifiedAt) {
+        
+        Version next() {
+            return next(modifiedAt);
+        }
+        
+        /**
+         * 下一个版本，修改时间严格晚于 after
+         */
+        Version next(long after) {
+            // 修改时间按秒取整（HTTP 日期精度为秒）；同一秒内再次变化时顺延一秒，
+            // 否则只带 If-Modified-Since 的客户端会把新内容当成未修改
+            long now = System.currentTimeMillis() / 1000 * 1000;
+            return new Version(value + 1, now > after ? now : after + 1000);
+        }
+    }
+    
+    private final long epoch = System.currentTimeMillis();
+    private final Version initial = new Version(0, epoch / 1000 * 1000);
+    
+    private final AtomicReference<Version> blogs = new AtomicReference<>(initial);
+    private final AtomicReference<Version> tags = new AtomicReference<>(initial);
+    private final AtomicReference<Version> projects = new AtomicReference<>(initial);
+    private final AtomicReference<Version> allPosts = new AtomicReference<>(initial);
+    private final ConcurrentHashMap<Long, Version> posts = new ConcurrentHashMap<>();
+    
+    /**
+     * 博客列表版本变化的监听器（在变更线程上同步调用，应只做轻量操作）
+     */
+    private final List<Runnable> blogsListeners = new CopyOnWriteArrayList<>();
+    
+    public Version blogs() {
+        return blogs.get();
+    }
+    
+    public Version tags() {
+        return tags.get();
+    }
+    
+    public Version projects() {
+        return projects.get();
+    }
+    
+    /**
+     * 单篇博客版本 = 该博客自身版本 + 全量失效次数（两者都只增不减，和也只增不减）
+     */
+    public Version post(Long postId) {
+        Version own = posts.getOrDefault(postId, initial);
+        Version all = allPosts.get();
+        return new Version(own.value() + all.value(), Math.max(own.modifiedAt(), all.modifiedAt()));
+    }
+    
+    /**
+     * 某篇博客发生变化（同时影响博客列表）
+     */
+    public void postChanged(Long postId) {
+        // 以合并后的修改时间为基准，保证该博客对外的 Last-Modified 也严格递增
+        posts.compute(postId, (k, v) -> {
+            Version own = v != null ? v : initial;
+            return own.next(Math.max(own.modifiedAt(), allPosts.get().modifiedAt()));
+        });
+        blogs.updateAndGet(Version::next);
+        blogsListeners.forEach(Runnable::run);
+    }
+    
+    /**
+     * 标签发生变化
+     */
+    public void tagsChanged() {
+        tags.updateAndGet(Version::next);
+    }
+    
+    /**
+     * 项目发生变化
+     */
+    public void projectsChanged() {
+        projects.updateAndGet(Version::next);
+    }
+    
+    /**
+     * 无法确定具体哪些博客变化时，使全部博客的版本失效
+     */
+    public void allPostsChanged() {
+        allPosts.updateAndGet(Version::next);
+        blogs.updateAndGet(Version::next);
+        blogsListeners.forEach(Runnable::run);
+    }
+    
+    /**
+     * 注册博客列表版本变化的监听器
+     */
+    public void onBlogsChanged(Runnable listener) {
+        blogsListeners.add(listener);
+    }
+    
+    /**
+     * 生成强 ETag
+     */
+    public String etag(String name, Version version) {
+        return "\"" + name + "-" + Long.toHexString(epoch) + "-" + version.value() + "\"";
+    }
+}
@@ -0,0 +1,78 @@
+package com.river.blog.component;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * 服务层并发查询
+ *
+ * 开启虚拟线程（spring.threads.virtual.enabled）时，互不依赖的查询各自在虚拟线程上执行；
+ * 关闭时或处于事务中（其他线程拿不到同一连接、看不到未提交数据）则在当前线程顺序执行，行为与原来一致。
+ *
+ * @author River
+ */
+@Component
+public class FanOut {
+
+    /**
+     * 虚拟线程执行器，顺序模式下为null
+     */
+    private final ExecutorService executor;
+
+    public FanOut(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.executor = virtualThreads ? Executors.newVirtualThreadPerTaskExecutor() : null;
+    }
+
+    /**
+     * 提交一个查询
+     */
+    public <T> CompletableFuture<T> supply(Supplier<T> task) {
+        if (executor == null || TransactionSynchronizationManager.isActualTransactionActive()) {
+            try {
+                return CompletableFuture.completedFuture(task.get());
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        return CompletableFuture.supplyAsync(task, executor);
+    }
+
+    /**
+     * 提交一个无返回值的任务
+     */
+    public CompletableFuture<Void> run(Runnable task) {
+        return supply(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * 等待结果，原样抛出任务中的运行时异常
+     */
+    public <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.river.blog.component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.river.blog.common.Result;
+import com.river.blog.service.BlogPostService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 首页快照
+ *
+ * 已发布博客列表的前几页（默认每页条数）预先序列化为 UTF-8 JSON 字节，可同时保存 gzip 压缩版本，
+ * 请求时直接写出，不查库也不序列化。博客列表版本变化（博客增删改、切换状态、评论增删）后在后台线程重建，
+ * 重建完成前快照与当前版本不一致，请求回落到正常查询，因此不会返回过期内容。
+ * 浏览量变化不计入版本，另按固定间隔重建一次刷新浏览量。
+ *
+ * @author River
+ */
+@Component
+public class HomepageSnapshot {
+    
+    private static final Logger log = LoggerFactory.getLogger(HomepageSnapshot.class);
+    
+    private static final String STATUS = "published";
+    
+    /**
+     * 预编码的单页响应
+     *
+     * @param json 完整响应体（Result）
+     * @param gzip json 的 gzip 压缩结果，未开启时为null
+     */
+    public record Page(byte[] json, byte[] gzip) {
+    }
+    
+    /**
+     * 某一博客列表版本对应的全部页面
+     */
+    private record Snapshot(long version, Page[] pages) {
+    }
+    
+    private final BlogPostService blogPostService;
+    private final ContentVersions contentVersions;
+    private final ObjectMapper objectMapper;
+    
+    private final int pages;
+    private final int pageSize;
+    private final boolean gzip;
+    
+    private volatile Snapshot snapshot;
+    
+    /**
+     * 已提交但尚未开始的重建（多次变更合并为一次重建）
+     */
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+    
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "homepage-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    public HomepageSnapshot(BlogPostService blogPostService, ContentVersions contentVersions, ObjectMapper objectMapper,
+                            @Value("${blog.cache.homepage.pages:3}") int pages,
+                            @Value("${blog.cache.homepage.page-size:10}") int pageSize,
+                            @Value("${blog.cache.homepage.gzip:true}") boolean gzip) {
+        this.blogPostService = blogPostService;
+        this.contentVersions = contentVersions;
+        this.objectMapper = objectMapper;
+        this.pages = pages;
+        this.pageSize = pageSize;
+        this.gzip = gzip;
+        contentVersions.onBlogsChanged(this::requestRebuild);
+    }
+    
+    /**
+     * 获取已发布博客列表的预编码页面
+     *
+     * @return 页码或每页条数不在快照范围内、快照尚未建立或已过期时返回null（调用方走正常查询）
+     */
+    public Page get(int page, int size) {
+        if (size != pageSize || page < 1 || page > pages) {
+            return null;
+        }
+        Snapshot current = snapshot;
+        if (current == null || current.version() != contentVersions.blogs().value()) {
+            requestRebuild();
+            return null;
+        }
+        return current.pages()[page - 1];
+    }
+    
+    /**
+     * 在后台重建快照，已有重建在排队时不重复提交
+     */
+    public void requestRebuild() {
+        if (pages <= 0 || !rebuildPending.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(this::rebuild);
+        } catch (RejectedExecutionException e) {
+            rebuildPending.set(false);
+        }
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        requestRebuild();
+    }
+    
+    /**
+     * 定期重建，刷新列表中的浏览量
+     */
+    @Scheduled(initialDelayString = "${blog.cache.homepage.refresh-interval:60000}",
+               fixedDelayString = "${blog.cache.homepage.refresh-interval:60000}")
+    public void refresh() {
+        requestRebuild();
+    }
+    
+    private void rebuild() {
+        // 重建开始后到达的变更会再排一次重建
+        rebuildPending.set(false);
+        // 先取版本再查询：查询期间发生的变更会使这份快照立即过期
+        long version = contentVersions.blogs().value();
+        try {
+            Page[] encoded = new Page[pages];
+            for (int i = 0; i < pages; i++) {
+                byte[] json = objectMapper.writeValueAsBytes(
+                        Result.success(blogPostService.getBlogList(STATUS, i + 1, pageSize)));
+                encoded[i] = new Page(json, gzip ? gzip(json) : null);
+            }
+            snapshot = new Snapshot(version, encoded);
+        } catch (Exception e) {
+            log.error("首页快照重建失败: {}", e.getMessage());
+        }
+    }
+    
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gzipOutput = new GZIPOutputStream(output)) {
+            gzipOutput.write(data);
+        }
+        return output.toByteArray();
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,314 @@
+package com.river.blog.component;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 图片衍生尺寸
+ *
+ * 按固定宽度档位生成缩放并重新压缩的 JPEG/PNG，保存在 {上传目录}/variants/w{宽度}/ 下。
+ * 上传时在后台预生成常用档位，其余档位在首次请求时生成，之后直接读磁盘。
+ * 所有生成任务都在有界线程池中执行，队列满或短时间内未生成完时先返回原图，生成在后台继续。
+ *
+ * @author River
+ */
+@Component
+public class ImageDerivatives {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageDerivatives.class);
+
+    private static final String VARIANT_DIR = "variants";
+
+    private final Path root;
+
+    /**
+     * 可用宽度档位（升序）
+     */
+    private final int[] widths;
+
+    /**
+     * 上传后预生成的宽度
+     */
+    private final int[] eagerWidths;
+
+    private final float quality;
+
+    private final long waitMillis;
+
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * 正在生成的衍生图（同一文件同一宽度只生成一次）
+     */
+    private final ConcurrentHashMap<Path, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>();
+
+    public ImageDerivatives(@Value("${file.upload.path}") String uploadPath,
+                            @Value("${file.image.widths:64,160,320,640,1280}") int[] widths,
+                            @Value("${file.image.eager-widths:64,320}") int[] eagerWidths,
+                            @Value("${file.image.quality:0.82}") float quality,
+                            @Value("${file.image.workers:2}") int workers,
+                            @Value("${file.image.queue-capacity:64}") int queueCapacity,
+                            @Value("${file.image.wait-millis:200}") long waitMillis) {
+        this.root = Paths.get(uploadPath).toAbsolutePath().normalize();
+        this.widths = Arrays.stream(widths).filter(w -> w > 0).sorted().distinct().toArray();
+        this.eagerWidths = eagerWidths;
+        this.quality = quality;
+        this.waitMillis = waitMillis;
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread thread = new Thread(r, "image-derivative-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * 是否支持生成衍生图（按扩展名判断）
+     */
+    public boolean supports(String filename) {
+        return outputFormat(filename) != null;
+    }
+
+    /**
+     * 上传完成后在后台预生成常用宽度，队列满时跳过（首次请求时再生成）
+     */
+    public void pregenerate(String filename) {
+        if (!supports(filename)) {
+            return;
+        }
+        for (int width : eagerWidths) {
+            try {
+                submit(filename, snap(width));
+            } catch (RejectedExecutionException e) {
+                log.debug("Derivative queue full, skip pregenerating {} w{}", filename, width);
+                return;
+            }
+        }
+    }
+
+    /**
+     * 获取指定宽度的衍生图路径，不存在时提交生成并短暂等待（不长时间占用请求线程）
+     *
+     * @return 衍生图路径；格式不支持、队列已满、生成失败或超时时返回null（调用方返回原图）
+     */
+    public Path resolve(String filename, int requestedWidth) {
+        if (!supports(filename) || requestedWidth <= 0) {
+            return null;
+        }
+        int width = snap(requestedWidth);
+        Path variant = variantPath(filename, width);
+        if (Files.isRegularFile(variant)) {
+            return variant;
+        }
+        try {
+            CompletableFuture<Path> future = submit(filename, width);
+            return waitMillis > 0 ? future.get(waitMillis, TimeUnit.MILLISECONDS) : future.getNow(null);
+        } catch (TimeoutException e) {
+            // 未等到的任务继续在后台生成，之后的请求直接读磁盘
+            return null;
+        } catch (RejectedExecutionException e) {
+            log.warn("Derivative queue full, serving original {}", filename);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception e) {
+            log.warn("Failed to generate derivative {} w{}: {}", filename, width, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 取不小于请求宽度的最小档位，超出最大档位时取最大档位
+     */
+    private int snap(int requestedWidth) {
+        for (int width : widths) {
+            if (width >= requestedWidth) {
+                return width;
+            }
+        }
+        return widths[widths.length - 1];
+    }
+
+    private Path variantPath(String filename, int width) {
+        return root.resolve(VARIANT_DIR).resolve("w" + width).resolve(filename);
+    }
+
+    private CompletableFuture<Path> submit(String filename, int width) {
+        Path variant = variantPath(filename, width);
+        CompletableFuture<Path> created = new CompletableFuture<>();
+        CompletableFuture<Path> existing = inFlight.putIfAbsent(variant, created);
+        if (existing != null) {
+            return existing;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    created.complete(generate(filename, width, variant));
+                } catch (Throwable e) {
+                    created.completeExceptionally(e);
+                } finally {
+                    inFlight.remove(variant, created);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(variant, created);
+            throw e;
+        }
+        return created;
+    }
+
+    /**
+     * 生成衍生图：先写临时文件再原子移动；原图不宽于目标宽度时用硬链接指向原图，不放大
+     */
+    private Path generate(String filename, int width, Path variant) throws IOException {
+        if (Files.isRegularFile(variant)) {
+            return variant;
+        }
+        Path original = root.resolve(filename);
+        Files.createDirectories(variant.getParent());
+
+        BufferedImage source = readSubsampled(original, width);
+        if (source == null) {
+            throw new IOException("unsupported image: " + filename);
+        }
+        if (source.getWidth() <= width) {
+            link(original, variant);
+            return variant;
+        }
+
+        int height = Math.max(1, (int) Math.round((double) source.getHeight() * width / source.getWidth()));
+        String format = outputFormat(filename);
+        boolean opaque = "jpeg".equals(format);
+        BufferedImage target = new BufferedImage(width, height, opaque ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        Path temp = Files.createTempFile(variant.getParent(), "variant-", ".part");
+        try {
+            write(target, format, temp);
+            // 临时文件默认 0600，放开读权限以便代理服务器直接读取
+            if (temp.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+                Files.setPosixFilePermissions(temp, PosixFilePermissions.fromString("rw-r--r--"));
+            }
+            try {
+                Files.move(temp, variant, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, variant, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return variant;
+    }
+
+    /**
+     * 解码时按目标宽度做整数倍降采样，大图不必整张解码到内存
+     */
+    private BufferedImage readSubsampled(Path original, int width) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(original.toFile())) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+            if (readers == null || !readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                // 保留两倍于目标的分辨率，再做平滑缩放
+                int factor = Math.max(1, reader.getWidth(0) / (width * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(factor, factor, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private void write(BufferedImage image, String format, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(format).next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if ("jpeg".equals(format)) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(quality);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private static void link(Path original, Path variant) throws IOException {
+        try {
+            Files.createLink(variant, original);
+        } catch (FileAlreadyExistsException e) {
+            // 并发生成，已有结果
+        } catch (UnsupportedOperationException | IOException e) {
+            Files.copy(original, variant, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * 输出格式：JPEG 重新压缩，PNG 保留透明度；其余格式（GIF 动图、WebP 等）不处理
+     */
+    private static String outputFormat(String filename) {
+        String lower = filename.toLowerCase(Locale.ROOT);
+        if (lower.endsWith(".jpg") || lower.endsWith(".jpeg")) {
+            return "jpeg";
+        }
+        if (lower.endsWith(".png")) {
+            return "png";
+        }
+        return null;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
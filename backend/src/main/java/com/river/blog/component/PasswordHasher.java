@@ -0,0 +1,171 @@
+package com.river.blog.component;
+
+import jakarta.annotation.PreDestroy;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 密码哈希执行器
+ *
+ * BCrypt 计算放到固定大小的线程池中执行（默认占用一半CPU核数），等待队列有上限：
+ * 队列已满时立即拒绝（429），排队加计算超过等待时间时放弃（503），
+ * 登录/注册被集中刷量时其余接口仍有可用的CPU。
+ *
+ * @author River
+ */
+@Component
+public class PasswordHasher {
+
+    /**
+     * 直方图上限（微秒），超出的按上限记录
+     */
+    private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    /**
+     * 哈希线程池繁忙（status 为建议返回的HTTP状态码：429 队列已满，503 等待超时）
+     */
+    public static class BusyException extends RuntimeException {
+
+        private final int status;
+
+        public BusyException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+    }
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final int queueCapacity;
+    private final long timeoutMillis;
+
+    private final ConcurrentHistogram hashMicros = new ConcurrentHistogram(1, MAX_TRACKABLE_MICROS, 2);
+    private final ConcurrentHistogram waitMicros = new ConcurrentHistogram(1, MAX_TRACKABLE_MICROS, 2);
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+                          @Value("${blog.auth.password-hash.workers:0}") int workers,
+                          @Value("${blog.auth.password-hash.queue-capacity:16}") int queueCapacity,
+                          @Value("${blog.auth.password-hash.timeout-millis:3000}") long timeoutMillis) {
+        this.passwordEncoder = passwordEncoder;
+        this.queueCapacity = queueCapacity;
+        this.timeoutMillis = timeoutMillis;
+
+        int threads = workers > 0 ? workers : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread thread = new Thread(r, "password-hash-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * 校验密码
+     */
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * 计算密码哈希
+     */
+    public String encode(CharSequence rawPassword) {
+        return execute(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * 当前统计：线程池与队列状态、拒绝/超时次数、排队与计算耗时分位数
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("workers", executor.getMaximumPoolSize());
+        stats.put("active", executor.getActiveCount());
+        stats.put("queueDepth", executor.getQueue().size());
+        stats.put("queueCapacity", queueCapacity);
+        stats.put("completed", executor.getCompletedTaskCount());
+        stats.put("rejected", rejected.sum());
+        stats.put("timedOut", timedOut.sum());
+        stats.put("hash", latency(hashMicros));
+        stats.put("wait", latency(waitMicros));
+        return stats;
+    }
+
+    private <T> T execute(Callable<T> task) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                record(waitMicros, startedAt - submittedAt);
+                try {
+                    return task.call();
+                } finally {
+                    record(hashMicros, System.nanoTime() - startedAt);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new BusyException(429, "请求过于频繁，请稍后重试");
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // 还在队列中的任务被取消后不再计算
+            future.cancel(true);
+            timedOut.increment();
+            throw new BusyException(503, "服务繁忙，请稍后重试");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new BusyException(503, "服务繁忙，请稍后重试");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static void record(ConcurrentHistogram histogram, long nanos) {
+        histogram.recordValue(Math.max(1, Math.min(MAX_TRACKABLE_MICROS, TimeUnit.NANOSECONDS.toMicros(nanos))));
+    }
+
+    private static Map<String, Object> latency(ConcurrentHistogram histogram) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("count", histogram.getTotalCount());
+        map.put("meanMs", histogram.getMean() / 1000.0);
+        map.put("p50Ms", histogram.getValueAtPercentile(50) / 1000.0);
+        map.put("p99Ms", histogram.getValueAtPercentile(99) / 1000.0);
+        map.put("maxMs", histogram.getMaxValue() / 1000.0);
+        return map;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
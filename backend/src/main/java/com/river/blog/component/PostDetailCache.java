@@ -0,0 +1,80 @@
+package com.river.blog.component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.river.blog.entity.BlogPost;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * 博客详情本地缓存
+ * 
+ * 基于 Caffeine（W-TinyLFU 淘汰，容量 + 过期时间双重限制）。
+ * 同一ID并发未命中时只有一个线程回源，其余线程等待同一结果。
+ * 
+ * @author River
+ */
+@Component
+public class PostDetailCache {
+    
+    private final Cache<Long, BlogPost> cache;
+    
+    public PostDetailCache(@Value("${blog.cache.post-detail.max-size:1000}") long maxSize,
+                           @Value("${blog.cache.post-detail.ttl:10m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+    
+    /**
+     * 读取缓存，未命中时调用 loader 加载（loader 返回null时不缓存）
+     */
+    public BlogPost get(Long id, Function<Long, BlogPost> loader) {
+        return cache.get(id, loader);
+    }
+    
+    /**
+     * 使缓存失效
+     * 在事务中调用时，提交后会再失效一次，避免事务期间被并发读回填旧数据
+     */
+    public void invalidate(Long id) {
+        cache.invalidate(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(id);
+                }
+            });
+        }
+    }
+    
+    /**
+     * 清空缓存
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+    
+    /**
+     * 命中率等统计信息
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+    
+    /**
+     * 当前缓存条数（近似值）
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+}
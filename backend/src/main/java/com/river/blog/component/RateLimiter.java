@@ -0,0 +1,151 @@
+package com.river.blog.component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 按客户端限流（令牌桶）
+ *
+ * 每个路由 + 客户端一个令牌桶，只用一个 AtomicLong 保存"桶重新装满的时刻"，请求时按当前时间惰性补充、
+ * CAS 扣减，不加锁。桶保存在 Caffeine 中（分段并发、条数有上限），空闲到桶已装满后自动过期，
+ * 过期与新建的桶等价，不会放宽限制。
+ * 路由与默认配额：upload / comment / register / login / login-account，可通过 blog.rate-limit.{路由}.* 调整。
+ * login-account 只在登录失败时扣减（见 {@link #peek}），正确的密码不会把账号锁住。
+ *
+ * @author River
+ */
+@Component
+public class RateLimiter {
+
+    public static final String UPLOAD = "upload";
+    public static final String COMMENT = "comment";
+    public static final String REGISTER = "register";
+    public static final String LOGIN = "login";
+    public static final String LOGIN_ACCOUNT = "login-account";
+
+    /**
+     * 单个路由的配额
+     *
+     * @param intervalNanos 补充一个令牌的间隔
+     * @param burstNanos    桶从空到满的时间（容量 * 间隔）
+     */
+    private record Rule(int capacity, long refillPerMinute, long intervalNanos, long burstNanos,
+                        LongAdder allowed, LongAdder rejected) {
+
+        static Rule of(int capacity, long refillPerMinute) {
+            long interval = TimeUnit.MINUTES.toNanos(1) / Math.max(1, refillPerMinute);
+            return new Rule(capacity, refillPerMinute, interval, interval * Math.max(1, capacity),
+                    new LongAdder(), new LongAdder());
+        }
+    }
+
+    private final Map<String, Rule> rules = new LinkedHashMap<>();
+
+    /**
+     * 路由:客户端 -> 桶重新装满的时刻（System.nanoTime）
+     */
+    private final Cache<String, AtomicLong> buckets;
+
+    public RateLimiter(Environment environment, @Value("${blog.rate-limit.max-keys:100000}") long maxKeys) {
+        rules.put(UPLOAD, rule(environment, UPLOAD, 10, 20));
+        rules.put(COMMENT, rule(environment, COMMENT, 5, 10));
+        rules.put(REGISTER, rule(environment, REGISTER, 3, 5));
+        rules.put(LOGIN, rule(environment, LOGIN, 10, 20));
+        rules.put(LOGIN_ACCOUNT, rule(environment, LOGIN_ACCOUNT, 5, 10));
+
+        long idleNanos = rules.values().stream().mapToLong(Rule::burstNanos).max().orElse(0);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofNanos(idleNanos))
+                .build();
+    }
+
+    private static Rule rule(Environment environment, String route, int capacity, long refillPerMinute) {
+        String prefix = "blog.rate-limit." + route + ".";
+        return Rule.of(environment.getProperty(prefix + "capacity", Integer.class, capacity),
+                environment.getProperty(prefix + "refill-per-minute", Long.class, refillPerMinute));
+    }
+
+    /**
+     * 尝试取一个令牌
+     *
+     * @return 0 表示放行；否则为需要等待的纳秒数
+     */
+    public long tryAcquire(String route, String client) {
+        Rule rule = rules.get(route);
+        if (rule == null) {
+            return 0;
+        }
+        AtomicLong fullAt = buckets.get(route + ':' + client, k -> new AtomicLong(Long.MIN_VALUE));
+        long now = System.nanoTime();
+        while (true) {
+            long current = fullAt.get();
+            // 已装满的桶从当前时刻算起；取走一个令牌后装满时刻推迟一个间隔
+            long next = Math.max(current, now) + rule.intervalNanos();
+            long overdraft = next - now - rule.burstNanos();
+            if (overdraft > 0) {
+                rule.rejected().increment();
+                return overdraft;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                rule.allowed().increment();
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * 只检查是否还有令牌，不扣减
+     *
+     * @return 0 表示还有令牌；否则为需要等待的纳秒数
+     */
+    public long peek(String route, String client) {
+        Rule rule = rules.get(route);
+        AtomicLong fullAt = rule == null ? null : buckets.getIfPresent(route + ':' + client);
+        if (fullAt == null) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        long overdraft = Math.max(fullAt.get(), now) + rule.intervalNanos() - now - rule.burstNanos();
+        if (overdraft > 0) {
+            rule.rejected().increment();
+            return overdraft;
+        }
+        return 0;
+    }
+
+    /**
+     * 登录账号的计数键（库中用户名不区分大小写，统一去空白转小写）
+     */
+    public static String account(String username) {
+        return username.strip().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 各路由配额与放行/拒绝次数
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("trackedKeys", buckets.estimatedSize());
+        rules.forEach((route, rule) -> {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("capacity", rule.capacity());
+            map.put("refillPerMinute", rule.refillPerMinute());
+            map.put("allowed", rule.allowed().sum());
+            map.put("rejected", rule.rejected().sum());
+            stats.put(route, map);
+        });
+        return stats;
+    }
+}
@@ -0,0 +1,82 @@
+package com.river.blog.component;
+
+import com.river.blog.mapper.BlogTagMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 标签列表快照
+ * 
+ * /tags 直接返回内存中的快照，只有标签关联发生变化后才重新查询。
+ * 启动时先按关联表校正一次 post_count。
+ * 
+ * @author River
+ */
+@Component
+public class TagListSnapshot {
+    
+    private static final Logger log = LoggerFactory.getLogger(TagListSnapshot.class);
+    
+    private final BlogTagMapper blogTagMapper;
+    
+    private volatile List<Map<String, Object>> snapshot;
+    
+    /**
+     * 每次失效 +1，加载期间发生失效时不发布旧结果
+     */
+    private final AtomicLong version = new AtomicLong();
+    
+    public TagListSnapshot(BlogTagMapper blogTagMapper) {
+        this.blogTagMapper = blogTagMapper;
+    }
+    
+    /**
+     * 获取标签列表（按创建时间降序）
+     */
+    public List<Map<String, Object>> get() {
+        List<Map<String, Object>> current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    long loadingVersion = version.get();
+                    current = Collections.unmodifiableList(blogTagMapper.selectAllTags());
+                    if (version.get() == loadingVersion) {
+                        snapshot = current;
+                    }
+                }
+            }
+        }
+        return current;
+    }
+    
+    /**
+     * 标签变化后调用，下次读取时重新加载
+     */
+    public void invalidate() {
+        version.incrementAndGet();
+        snapshot = null;
+    }
+    
+    /**
+     * 启动时校正标签文章数
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcile() {
+        try {
+            int fixed = blogTagMapper.reconcilePostCounts();
+            invalidate();
+            log.info("标签文章数校正完成: 修正 {} 个标签", fixed);
+        } catch (Exception e) {
+            log.error("标签文章数校正失败: {}", e.getMessage());
+        }
+    }
+}
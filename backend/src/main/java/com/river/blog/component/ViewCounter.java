@@ -0,0 +1,170 @@
+package com.river.blog.component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.river.blog.mapper.BlogPostMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 浏览量写缓冲
+ * 
+ * 阅读时只在内存中累加（LongAdder 分段计数，无锁），
+ * 定时把增量按固定条数分批合并成多行 UPDATE 写回数据库，应用关闭时再刷一次。
+ * 对外展示的浏览量由每篇博客一个只增不减的计数器提供，与是否已写回无关，
+ * 详情缓存中的 views 字段不再使用。
+ * 
+ * @author River
+ */
+@Component
+public class ViewCounter {
+    
+    private static final Logger log = LoggerFactory.getLogger(ViewCounter.class);
+    
+    private final BlogPostMapper blogPostMapper;
+    
+    /**
+     * 尚未刷盘的增量
+     */
+    private final ConcurrentHashMap<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    
+    /**
+     * 展示用的浏览量（首次读取时以数据库中的值加未刷盘增量为起点，之后只随阅读累加）；
+     * 条数有上限，淘汰后下次读取重新从数据库取起点
+     */
+    private final Cache<Long, AtomicLong> totals;
+    
+    /**
+     * 每条 UPDATE 最多包含的博客数
+     */
+    private final int batchSize;
+    
+    private final Object flushLock = new Object();
+    
+    public ViewCounter(BlogPostMapper blogPostMapper,
+                       @Value("${blog.views.max-tracked:100000}") long maxTracked,
+                       @Value("${blog.views.batch-size:500}") int batchSize) {
+        this.blogPostMapper = blogPostMapper;
+        this.totals = Caffeine.newBuilder().maximumSize(maxTracked).build();
+        this.batchSize = Math.max(1, batchSize);
+    }
+    
+    /**
+     * 浏览量 +1（调用方需确认博客存在）
+     */
+    public void increment(Long postId) {
+        pending.computeIfAbsent(postId, k -> new LongAdder()).increment();
+        AtomicLong total = totals.getIfPresent(postId);
+        if (total != null) {
+            total.incrementAndGet();
+        }
+    }
+    
+    /**
+     * 获取当前浏览量（含尚未写入数据库的增量）
+     *
+     * @param fallback 博客不存在时返回的值
+     */
+    public long views(Long postId, long fallback) {
+        AtomicLong total = totals.getIfPresent(postId);
+        if (total == null) {
+            total = load(postId);
+        }
+        return total == null ? fallback : total.get();
+    }
+    
+    /**
+     * 从数据库读取起点；与写回互斥，读到的值和缓冲中的增量不会重复或遗漏
+     */
+    private AtomicLong load(Long postId) {
+        synchronized (flushLock) {
+            AtomicLong total = totals.getIfPresent(postId);
+            if (total != null) {
+                return total;
+            }
+            Integer stored = blogPostMapper.selectViews(postId);
+            if (stored == null) {
+                return null;
+            }
+            LongAdder adder = pending.get(postId);
+            total = new AtomicLong(stored + (adder == null ? 0 : adder.sum()));
+            totals.put(postId, total);
+            return total;
+        }
+    }
+    
+    /**
+     * 博客删除后丢弃其计数
+     */
+    public void forget(Long postId) {
+        synchronized (flushLock) {
+            pending.remove(postId);
+            totals.invalidate(postId);
+        }
+    }
+    
+    /**
+     * 定时批量写回
+     */
+    @Scheduled(fixedDelayString = "${blog.views.flush-interval:5000}")
+    public void flush() {
+        synchronized (flushLock) {
+            Map<Long, Long> deltas = new LinkedHashMap<>();
+            for (Map.Entry<Long, LongAdder> entry : pending.entrySet()) {
+                long delta = entry.getValue().sumThenReset();
+                // 取走后移除，map 只保留两次写回之间被阅读过的博客
+                pending.remove(entry.getKey(), entry.getValue());
+                if (delta > 0) {
+                    deltas.put(entry.getKey(), delta);
+                }
+            }
+            if (deltas.isEmpty()) {
+                return;
+            }
+            
+            // 分批写回，单条语句的参数个数有上限
+            List<Map<Long, Long>> batches = new ArrayList<>();
+            Map<Long, Long> batch = new LinkedHashMap<>();
+            for (Map.Entry<Long, Long> entry : deltas.entrySet()) {
+                batch.put(entry.getKey(), entry.getValue());
+                if (batch.size() == batchSize) {
+                    batches.add(batch);
+                    batch = new LinkedHashMap<>();
+                }
+            }
+            if (!batch.isEmpty()) {
+                batches.add(batch);
+            }
+            
+            for (Map<Long, Long> chunk : batches) {
+                try {
+                    blogPostMapper.incrementViewsBatch(chunk);
+                } catch (Exception e) {
+                    // 写库失败则把这一批增量退回缓冲，下次再试
+                    log.error("浏览量批量写回失败: {}", e.getMessage());
+                    chunk.forEach((postId, delta) -> pending.computeIfAbsent(postId, k -> new LongAdder()).add(delta));
+                }
+            }
+        }
+    }
+    
+    /**
+     * 应用关闭时写回剩余增量
+     */
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
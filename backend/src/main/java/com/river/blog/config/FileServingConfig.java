@@ -0,0 +1,33 @@
+package com.river.blog.config;
+
+import com.river.blog.component.ImageDerivatives;
+import com.river.blog.filter.StaticFileFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * 上传文件访问配置
+ *
+ * 关闭 file.serve.direct 后 /files/{filename} 回落到 FileController，便于对比吞吐。
+ * 
+ * @author River
+ */
+@Configuration
+@ConditionalOnProperty(name = "file.serve.direct", havingValue = "true", matchIfMissing = true)
+public class FileServingConfig {
+    
+    @Bean
+    public FilterRegistrationBean<StaticFileFilter> staticFileFilter(@Value("${file.upload.path}") String uploadPath,
+                                                                     ImageDerivatives imageDerivatives) {
+        FilterRegistrationBean<StaticFileFilter> registration =
+                new FilterRegistrationBean<>(new StaticFileFilter(uploadPath, imageDerivatives));
+        registration.addUrlPatterns("/files/*");
+        // 排在 Spring Security 过滤器链之前
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
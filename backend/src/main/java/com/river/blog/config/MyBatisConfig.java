@@ -0,0 +1,30 @@
+package com.river.blog.config;
+
+import org.apache.ibatis.mapping.DatabaseIdProvider;
+import org.apache.ibatis.mapping.VendorDatabaseIdProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Properties;
+
+/**
+ * MyBatis 配置
+ *
+ * 按数据库产品设置 databaseId：Mapper 中未标 databaseId 的语句按 MySQL 编写，
+ * 个别 MySQL 专有写法另提供 databaseId="h2" 的版本，供性能基准的嵌入式 H2 使用。
+ * 
+ * @author River
+ */
+@Configuration
+public class MyBatisConfig {
+    
+    @Bean
+    public DatabaseIdProvider databaseIdProvider() {
+        Properties properties = new Properties();
+        properties.setProperty("MySQL", "mysql");
+        properties.setProperty("H2", "h2");
+        VendorDatabaseIdProvider provider = new VendorDatabaseIdProvider();
+        provider.setProperties(properties);
+        return provider;
+    }
+}
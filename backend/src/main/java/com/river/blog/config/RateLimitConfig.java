@@ -0,0 +1,32 @@
+package com.river.blog.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.river.blog.component.RateLimiter;
+import com.river.blog.filter.RateLimitFilter;
+import com.river.blog.util.JwtUtil;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * 写接口限流配置
+ * 
+ * @author River
+ */
+@Configuration
+@ConditionalOnProperty(name = "blog.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+    
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(RateLimiter rateLimiter, JwtUtil jwtUtil,
+                                                                   ObjectMapper objectMapper) {
+        FilterRegistrationBean<RateLimitFilter> registration =
+                new FilterRegistrationBean<>(new RateLimitFilter(rateLimiter, jwtUtil, objectMapper));
+        registration.addUrlPatterns("/files/upload", "/blogs/*", "/auth/*");
+        // 排在 Spring Security 过滤器链与 multipart 解析之前
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+        return registration;
+    }
+}
@@ -35,6 +35,9 @@ public class SecurityConfig {
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             // 配置权限
             .authorizeHttpRequests(auth -> auth
+                // 运行统计与密码工具需要认证（须排在 /util/** 之前）
+                .requestMatchers("/util/*-stats").authenticated()
+                .requestMatchers("/util/generate-password", "/util/test-password").authenticated()
                 // 公开接口
                 .requestMatchers("/auth/**").permitAll()
                 .requestMatchers("/util/**").permitAll()
@@ -44,6 +47,7 @@ public class SecurityConfig {
                 .requestMatchers("/files/**").permitAll()
                 .requestMatchers("/users/admin-profile").permitAll()  // 允许公开访问管理员信息
                 .requestMatchers("/tags").permitAll()  // 允许公开访问标签列表
+                .requestMatchers("/tags/counts").permitAll()  // 允许公开访问标签统计
                 .requestMatchers("/MP_verify_*.txt").permitAll()  // 微信公众平台验证文件
                 // 需要认证的接口
                 .anyRequest().authenticated()
@@ -1,9 +1,12 @@
 package com.river.blog.controller;
 
 import com.river.blog.common.Result;
+import com.river.blog.component.PasswordHasher;
 import com.river.blog.dto.LoginRequest;
 import com.river.blog.dto.LoginResponse;
 import com.river.blog.service.UserService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.*;
 
 /**
@@ -25,10 +28,12 @@ public class AuthController {
      * 用户登录
      */
     @PostMapping("/login")
-    public Result<LoginResponse> login(@RequestBody LoginRequest request) {
+    public Result<LoginResponse> login(@RequestBody LoginRequest request, HttpServletResponse httpResponse) {
         try {
             LoginResponse response = userService.login(request);
             return Result.success(response);
+        } catch (PasswordHasher.BusyException e) {
+            return busy(e, httpResponse);
         } catch (Exception e) {
             return Result.error(e.getMessage());
         }
@@ -38,13 +43,15 @@ public class AuthController {
      * 管理员快速登录
      */
     @PostMapping("/admin")
-    public Result<LoginResponse> adminLogin() {
+    public Result<LoginResponse> adminLogin(HttpServletResponse httpResponse) {
         try {
             LoginRequest request = new LoginRequest();
             request.setUsername("admin");
             request.setPassword("admin123");
             LoginResponse response = userService.login(request);
             return Result.success(response);
+        } catch (PasswordHasher.BusyException e) {
+            return busy(e, httpResponse);
         } catch (Exception e) {
             return Result.error(e.getMessage());
         }
@@ -54,12 +61,23 @@ public class AuthController {
      * 用户注册
      */
     @PostMapping("/register")
-    public Result<LoginResponse> register(@RequestBody LoginRequest request) {
+    public Result<LoginResponse> register(@RequestBody LoginRequest request, HttpServletResponse httpResponse) {
         try {
             LoginResponse response = userService.register(request);
             return Result.success(response);
+        } catch (PasswordHasher.BusyException e) {
+            return busy(e, httpResponse);
         } catch (Exception e) {
             return Result.error(e.getMessage());
         }
     }
+    
+    /**
+     * 密码哈希线程池繁忙：返回 429/503 并提示客户端稍后重试
+     */
+    private static <T> Result<T> busy(PasswordHasher.BusyException e, HttpServletResponse httpResponse) {
+        httpResponse.setStatus(e.getStatus());
+        httpResponse.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        return Result.error(e.getStatus(), e.getMessage());
+    }
 }
@@ -3,7 +3,7 @@ package com.river.blog.controller;
 import com.river.blog.common.Result;
 import com.river.blog.entity.BlogComment;
 import com.river.blog.mapper.BlogCommentMapper;
-import com.river.blog.mapper.BlogPostMapper;
+import com.river.blog.service.BlogCommentService;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
@@ -20,26 +20,59 @@ import java.util.Map;
 public class BlogCommentController {
     
     private final BlogCommentMapper blogCommentMapper;
-    private final BlogPostMapper blogPostMapper;
+    private final BlogCommentService blogCommentService;
     
-    public BlogCommentController(BlogCommentMapper blogCommentMapper, BlogPostMapper blogPostMapper) {
+    public BlogCommentController(BlogCommentMapper blogCommentMapper, BlogCommentService blogCommentService) {
         this.blogCommentMapper = blogCommentMapper;
-        this.blogPostMapper = blogPostMapper;
+        this.blogCommentService = blogCommentService;
     }
     
     /**
      * 获取博客评论列表
+     * 默认返回全部评论的扁平列表；threaded=true 时返回服务端组装好的评论树
      */
     @GetMapping
-    public Result<List<BlogComment>> getComments(@PathVariable Long postId) {
+    public Result<List<BlogComment>> getComments(@PathVariable Long postId,
+                                                 @RequestParam(required = false, defaultValue = "false") Boolean threaded) {
         try {
-            List<BlogComment> comments = blogCommentMapper.selectByPostId(postId);
+            List<BlogComment> comments = threaded
+                    ? blogCommentService.getCommentTree(postId)
+                    : blogCommentMapper.selectByPostId(postId);
             return Result.success(comments);
         } catch (Exception e) {
             return Result.error(e.getMessage());
         }
     }
     
+    /**
+     * 游标分页获取顶层评论（附带回复数，回复通过 /{commentId}/replies 按需加载）
+     */
+    @GetMapping("/threads")
+    public Result<Map<String, Object>> getCommentThreads(@PathVariable Long postId,
+                                                         @RequestParam(required = false) String cursor,
+                                                         @RequestParam(required = false, defaultValue = "20") Integer size) {
+        try {
+            return Result.success(blogCommentService.getTopLevelComments(postId, cursor, size));
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+    
+    /**
+     * 游标分页获取某条评论的直接回复
+     */
+    @GetMapping("/{commentId}/replies")
+    public Result<Map<String, Object>> getReplies(@PathVariable Long postId,
+                                                  @PathVariable Long commentId,
+                                                  @RequestParam(required = false) String cursor,
+                                                  @RequestParam(required = false, defaultValue = "20") Integer size) {
+        try {
+            return Result.success(blogCommentService.getReplies(postId, commentId, cursor, size));
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+    
     /**
      * 发表评论（需要认证）
      */
@@ -73,14 +106,8 @@ public class BlogCommentController {
                 comment.setParentId(Long.valueOf(params.get("parentId").toString()));
             }
             
-            blogCommentMapper.insert(comment);
-            
-            // 更新博客评论数
-            int commentCount = blogCommentMapper.countByPostId(postId);
-            blogPostMapper.updateCommentCount(postId, commentCount);
-            
-            // 查询完整的评论信息（包含用户信息）
-            BlogComment fullComment = blogCommentMapper.selectById(comment.getId());
+            // 插入评论并更新博客评论数，返回完整的评论信息（包含用户信息）
+            BlogComment fullComment = blogCommentService.createComment(comment);
             
             return Result.success(fullComment);
         } catch (Exception e) {
@@ -122,12 +149,8 @@ public class BlogCommentController {
                 return Result.error("无权限删除此评论");
             }
             
-            // 删除评论
-            blogCommentMapper.deleteById(commentId);
-            
-            // 更新博客评论数
-            int commentCount = blogCommentMapper.countByPostId(postId);
-            blogPostMapper.updateCommentCount(postId, commentCount);
+            // 删除评论并更新博客评论数
+            blogCommentService.deleteComment(comment);
             
             return Result.success();
         } catch (Exception e) {
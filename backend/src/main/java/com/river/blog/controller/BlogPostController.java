@@ -1,12 +1,21 @@
 package com.river.blog.controller;
 
 import com.river.blog.common.Result;
+import com.river.blog.component.ContentVersions;
+import com.river.blog.component.HomepageSnapshot;
+import com.river.blog.dto.SearchHit;
 import com.river.blog.entity.BlogPost;
 import com.river.blog.service.BlogPostService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 /**
@@ -19,40 +28,99 @@ import java.util.Map;
 public class BlogPostController {
     
     private final BlogPostService blogPostService;
+    private final ContentVersions contentVersions;
+    private final HomepageSnapshot homepageSnapshot;
     
-    public BlogPostController(BlogPostService blogPostService) {
+    public BlogPostController(BlogPostService blogPostService, ContentVersions contentVersions,
+                              HomepageSnapshot homepageSnapshot) {
         this.blogPostService = blogPostService;
+        this.contentVersions = contentVersions;
+        this.homepageSnapshot = homepageSnapshot;
     }
     
     /**
      * 获取博客列表
+     * 默认按页码分页；传入 cursor 参数（首页传空字符串）时使用游标分页，返回 nextCursor；
+     * 传入 tag（全部包含）/ anyTag（包含其一）/ excludeTag（不包含）时按标签筛选
      */
     @GetMapping
     public Result<Map<String, Object>> getBlogList(
             @RequestParam(required = false, defaultValue = "published") String status,
             @RequestParam(required = false, defaultValue = "1") Integer page,
-            @RequestParam(required = false, defaultValue = "10") Integer size) {
+            @RequestParam(required = false, defaultValue = "10") Integer size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) List<String> tag,
+            @RequestParam(required = false) List<String> anyTag,
+            @RequestParam(required = false) List<String> excludeTag,
+            WebRequest webRequest,
+            HttpServletResponse response) {
         try {
-            Map<String, Object> result = blogPostService.getBlogList(status, page, size);
+            // 内容未变化时直接返回 304，不查询数据库
+            ContentVersions.Version version = contentVersions.blogs();
+            if (webRequest.checkNotModified(contentVersions.etag("blogs", version), version.modifiedAt())) {
+                return null;
+            }
+            
+            // 已发布列表的前几页直接写出预编码的 JSON，不查库也不序列化
+            if (cursor == null && !isNotEmpty(tag) && !isNotEmpty(anyTag) && !isNotEmpty(excludeTag)
+                    && "published".equals(status)) {
+                HomepageSnapshot.Page snapshotPage = homepageSnapshot.get(page, size);
+                if (snapshotPage != null) {
+                    writeSnapshot(snapshotPage, webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING), response);
+                    return null;
+                }
+            }
+            
+            Map<String, Object> result;
+            if (isNotEmpty(tag) || isNotEmpty(anyTag) || isNotEmpty(excludeTag)) {
+                result = blogPostService.getBlogListByTags(status, tag, anyTag, excludeTag, page, size);
+            } else if (cursor != null) {
+                result = blogPostService.getBlogListByCursor(status, cursor, size);
+            } else {
+                result = blogPostService.getBlogList(status, page, size);
+            }
             return Result.success(result);
         } catch (Exception e) {
             return Result.error(e.getMessage());
         }
     }
     
+    /**
+     * 全文搜索博客（标题、摘要、标签、正文）
+     */
+    @GetMapping("/search")
+    public Result<List<SearchHit>> searchBlogs(
+            @RequestParam("q") String keyword,
+            @RequestParam(required = false, defaultValue = "10") Integer size) {
+        try {
+            List<SearchHit> hits = blogPostService.searchBlogs(keyword, size);
+            return Result.success(hits);
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+    
     /**
      * 获取博客详情
      */
     @GetMapping("/{id}")
-    public Result<BlogPost> getBlogDetail(@PathVariable Long id) {
+    public Result<BlogPost> getBlogDetail(@PathVariable Long id, WebRequest webRequest) {
         try {
-            // 增加浏览量
-            blogPostService.incrementViews(id);
-            
+            // 先确认博客存在（详情有缓存），不存在的ID不计浏览量
             BlogPost blogPost = blogPostService.getBlogById(id);
             if (blogPost == null) {
                 return Result.notFound("博客不存在");
             }
+            
+            // 增加浏览量，返回值计入本次阅读
+            blogPostService.incrementViews(id);
+            blogPost.setViews(blogPost.getViews() + 1);
+            
+            // 内容未变化时直接返回 304（浏览量变化不计入版本）
+            ContentVersions.Version version = contentVersions.post(id);
+            if (webRequest.checkNotModified(contentVersions.etag("blog-" + id, version), version.modifiedAt())) {
+                return null;
+            }
             return Result.success(blogPost);
         } catch (Exception e) {
             return Result.error(e.getMessage());
@@ -150,4 +218,37 @@ public class BlogPostController {
             return Result.error(e.getMessage());
         }
     }
+    
+    /**
+     * 写出快照页面，客户端接受 gzip 时直接写出压缩版本
+     */
+    private static void writeSnapshot(HomepageSnapshot.Page page, String acceptEncoding, HttpServletResponse response)
+            throws IOException {
+        byte[] body = page.json();
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (page.gzip() != null && acceptsGzip(acceptEncoding)) {
+            body = page.gzip();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+    
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.toLowerCase(Locale.ROOT).split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equals("gzip")) {
+                return parts.length < 2 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+    
+    private static boolean isNotEmpty(List<String> values) {
+        return values != null && !values.isEmpty();
+    }
 }
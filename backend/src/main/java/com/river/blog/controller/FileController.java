@@ -1,10 +1,12 @@
 package com.river.blog.controller;
 
 import com.river.blog.common.Result;
+import com.river.blog.component.ImageDerivatives;
 import com.river.blog.service.FileService;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -16,6 +18,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 文件Controller
@@ -27,12 +30,14 @@ import java.util.Map;
 public class FileController {
     
     private final FileService fileService;
+    private final ImageDerivatives imageDerivatives;
     
     @Value("${file.upload.path}")
     private String uploadPath;
     
-    public FileController(FileService fileService) {
+    public FileController(FileService fileService, ImageDerivatives imageDerivatives) {
         this.fileService = fileService;
+        this.imageDerivatives = imageDerivatives;
     }
     
     /**
@@ -53,12 +58,23 @@ public class FileController {
     }
     
     /**
-     * 访问文件
+     * 访问文件（w 参数指定宽度时返回缩略图）
      */
     @GetMapping("/{filename:.+}")
-    public ResponseEntity<Resource> getFile(@PathVariable String filename) {
+    public ResponseEntity<Resource> getFile(@PathVariable String filename,
+                                            @RequestParam(required = false) Integer w) {
         try {
             Path filePath = Paths.get(uploadPath).resolve(filename).normalize();
+            // 文件名不可变，可长期缓存；衍生图未就绪、先返回原图时不缓存
+            CacheControl cacheControl = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable();
+            if (w != null && Files.isRegularFile(filePath)) {
+                Path variant = imageDerivatives.resolve(filename, w);
+                if (variant != null) {
+                    filePath = variant;
+                } else if (w > 0 && imageDerivatives.supports(filename)) {
+                    cacheControl = CacheControl.noCache();
+                }
+            }
             Resource resource = new UrlResource(filePath.toUri());
             
             if (resource.exists() && resource.isReadable()) {
@@ -70,6 +86,7 @@ public class FileController {
                 
                 return ResponseEntity.ok()
                         .contentType(MediaType.parseMediaType(contentType))
+                        .cacheControl(cacheControl)
                         .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + resource.getFilename() + "\"")
                         .body(resource);
             } else {
@@ -1,10 +1,12 @@
 package com.river.blog.controller;
 
 import com.river.blog.common.Result;
+import com.river.blog.component.ContentVersions;
 import com.river.blog.entity.Project;
 import com.river.blog.service.ProjectService;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
@@ -19,17 +21,24 @@ import java.util.Map;
 public class ProjectController {
     
     private final ProjectService projectService;
+    private final ContentVersions contentVersions;
     
-    public ProjectController(ProjectService projectService) {
+    public ProjectController(ProjectService projectService, ContentVersions contentVersions) {
         this.projectService = projectService;
+        this.contentVersions = contentVersions;
     }
     
     /**
      * 获取所有项目
      */
     @GetMapping
-    public Result<List<Project>> getAllProjects() {
+    public Result<List<Project>> getAllProjects(WebRequest webRequest) {
         try {
+            ContentVersions.Version version = contentVersions.projects();
+            if (webRequest.checkNotModified(contentVersions.etag("projects", version), version.modifiedAt())) {
+                return null;
+            }
+            
             List<Project> projects = projectService.getAllProjects();
             return Result.success(projects);
         } catch (Exception e) {
@@ -1,8 +1,11 @@
 package com.river.blog.controller;
 
 import com.river.blog.common.Result;
-import com.river.blog.mapper.BlogTagMapper;
+import com.river.blog.component.ContentVersions;
+import com.river.blog.component.TagListSnapshot;
+import com.river.blog.search.TagBitmapIndex;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
@@ -16,22 +19,44 @@ import java.util.Map;
 @RequestMapping("/tags")
 public class TagController {
     
-    private final BlogTagMapper blogTagMapper;
+    private final TagListSnapshot tagListSnapshot;
+    private final TagBitmapIndex tagBitmapIndex;
+    private final ContentVersions contentVersions;
     
-    public TagController(BlogTagMapper blogTagMapper) {
-        this.blogTagMapper = blogTagMapper;
+    public TagController(TagListSnapshot tagListSnapshot, TagBitmapIndex tagBitmapIndex, ContentVersions contentVersions) {
+        this.tagListSnapshot = tagListSnapshot;
+        this.tagBitmapIndex = tagBitmapIndex;
+        this.contentVersions = contentVersions;
     }
     
     /**
      * 获取所有标签（按创建时间降序）
      */
     @GetMapping
-    public Result<List<Map<String, Object>>> getAllTags() {
+    public Result<List<Map<String, Object>>> getAllTags(WebRequest webRequest) {
         try {
-            List<Map<String, Object>> tags = blogTagMapper.selectAllTags();
+            ContentVersions.Version version = contentVersions.tags();
+            if (webRequest.checkNotModified(contentVersions.etag("tags", version), version.modifiedAt())) {
+                return null;
+            }
+            
+            List<Map<String, Object>> tags = tagListSnapshot.get();
             return Result.success(tags);
         } catch (Exception e) {
             return Result.error("获取标签列表失败: " + e.getMessage());
         }
     }
+    
+    /**
+     * 各标签下的博客数（基于内存位图索引，默认只统计已发布）
+     */
+    @GetMapping("/counts")
+    public Result<Map<String, Integer>> getTagCounts(
+            @RequestParam(required = false, defaultValue = "published") String status) {
+        try {
+            return Result.success(tagBitmapIndex.countByTag(status));
+        } catch (Exception e) {
+            return Result.error("获取标签统计失败: " + e.getMessage());
+        }
+    }
 }
@@ -1,12 +1,18 @@
 package com.river.blog.controller;
 
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import com.river.blog.common.Result;
+import com.river.blog.component.PasswordHasher;
+import com.river.blog.component.PostDetailCache;
+import com.river.blog.component.RateLimiter;
 import com.river.blog.entity.User;
+import com.river.blog.interceptor.SqlMetricsInterceptor;
 import com.river.blog.mapper.UserMapper;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -19,15 +25,25 @@ import java.util.Map;
 public class UtilController {
     
     private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final UserMapper userMapper;
+    private final PostDetailCache postDetailCache;
+    private final SqlMetricsInterceptor sqlMetricsInterceptor;
+    private final RateLimiter rateLimiter;
     
-    public UtilController(PasswordEncoder passwordEncoder, UserMapper userMapper) {
+    public UtilController(PasswordEncoder passwordEncoder, PasswordHasher passwordHasher, UserMapper userMapper,
+                          PostDetailCache postDetailCache, SqlMetricsInterceptor sqlMetricsInterceptor,
+                          RateLimiter rateLimiter) {
         this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
         this.userMapper = userMapper;
+        this.postDetailCache = postDetailCache;
+        this.sqlMetricsInterceptor = sqlMetricsInterceptor;
+        this.rateLimiter = rateLimiter;
     }
     
     /**
-     * 生成BCrypt密码哈希
+     * 生成BCrypt密码哈希（需登录；不经过登录用的哈希线程池）
      * 访问: GET /api/util/generate-password?password=admin123
      */
     @GetMapping("/generate-password")
@@ -43,7 +59,7 @@ public class UtilController {
     }
     
     /**
-     * 测试密码匹配
+     * 测试密码匹配（需登录；不经过登录用的哈希线程池）
      * 访问: POST /api/util/test-password
      * Body: {"password":"admin123", "hash":"$2a$10$..."}
      */
@@ -83,4 +99,52 @@ public class UtilController {
         
         return Result.success(health);
     }
+    
+    /**
+     * 缓存统计
+     * 访问: GET /api/util/cache-stats
+     */
+    @GetMapping("/cache-stats")
+    public Result<Map<String, Object>> cacheStats() {
+        CacheStats stats = postDetailCache.stats();
+        
+        Map<String, Object> postDetail = new HashMap<>();
+        postDetail.put("size", postDetailCache.size());
+        postDetail.put("hitCount", stats.hitCount());
+        postDetail.put("missCount", stats.missCount());
+        postDetail.put("hitRate", stats.hitRate());
+        postDetail.put("evictionCount", stats.evictionCount());
+        postDetail.put("averageLoadPenaltyMs", stats.averageLoadPenalty() / 1_000_000.0);
+        
+        Map<String, Object> result = new HashMap<>();
+        result.put("postDetail", postDetail);
+        return Result.success(result);
+    }
+    
+    /**
+     * SQL语句耗时统计（按总耗时降序）
+     * 访问: GET /api/util/sql-stats
+     */
+    @GetMapping("/sql-stats")
+    public Result<List<Map<String, Object>>> sqlStats() {
+        return Result.success(sqlMetricsInterceptor.snapshot());
+    }
+    
+    /**
+     * 密码哈希线程池统计（队列深度、拒绝/超时次数、耗时分位数）
+     * 访问: GET /api/util/password-hash-stats
+     */
+    @GetMapping("/password-hash-stats")
+    public Result<Map<String, Object>> passwordHashStats() {
+        return Result.success(passwordHasher.snapshot());
+    }
+    
+    /**
+     * 限流统计（各路由配额与放行/拒绝次数）
+     * 访问: GET /api/util/rate-limit-stats
+     */
+    @GetMapping("/rate-limit-stats")
+    public Result<Map<String, Object>> rateLimitStats() {
+        return Result.success(rateLimiter.snapshot());
+    }
 }
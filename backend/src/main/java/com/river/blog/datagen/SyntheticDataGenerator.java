@@ -0,0 +1,419 @@
+package com.river.blog.datagen;
+
+import com.river.blog.entity.BlogComment;
+import com.river.blog.entity.BlogPost;
+import com.river.blog.entity.User;
+import com.river.blog.mapper.SyntheticDataMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * 合成数据生成器
+ *
+ * 以 datagen profile 启动时运行（配置见 application-datagen.yml），按配置的数量向现有表批量写入
+ * 用户、博客、标签、博客-标签关联和评论（多行 INSERT），完成后退出。
+ * 标签热度与博客热度（评论数、浏览量）服从 Zipf 分布；ID 接在各表当前最大值之后连续分配，
+ * 同一种子与数量生成的数据完全相同（用户密码哈希的盐除外），不同版本的基准结果可以直接对比。
+ *
+ * @author River
+ */
+@Component
+@Profile("datagen")
+public class SyntheticDataGenerator implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    /**
+     * 生成数据的时间终点，固定值保证重复生成结果一致
+     */
+    private static final LocalDateTime END_TIME = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    /**
+     * 生成用户的登录密码
+     */
+    private static final String PASSWORD = "datagen123";
+
+    private static final String[] WORDS = {
+            "Java", "Spring", "MyBatis", "MySQL", "索引", "缓存", "并发", "线程", "事务", "分页",
+            "查询", "优化", "性能", "延迟", "吞吐", "内存", "磁盘", "网络", "日志", "监控",
+            "Redis", "JVM", "GC", "虚拟线程", "连接池", "锁", "队列", "批量", "异步", "架构",
+            "前端", "Vue", "接口", "部署", "Docker", "Linux", "算法", "数据结构", "测试", "重构",
+            "the", "a", "of", "and", "to", "in", "with", "for", "是", "的", "了", "在", "和", "我们"
+    };
+
+    private final SyntheticDataMapper syntheticDataMapper;
+    private final PasswordEncoder passwordEncoder;
+    private final ConfigurableApplicationContext context;
+
+    @Value("${datagen.seed:42}")
+    private long seed;
+
+    @Value("${datagen.users:10000}")
+    private int users;
+
+    @Value("${datagen.posts:100000}")
+    private int posts;
+
+    @Value("${datagen.comments:2000000}")
+    private long comments;
+
+    @Value("${datagen.tags:5000}")
+    private int tags;
+
+    @Value("${datagen.post-tags:500000}")
+    private long postTags;
+
+    @Value("${datagen.tag-skew:1.1}")
+    private double tagSkew;
+
+    @Value("${datagen.post-skew:1.0}")
+    private double postSkew;
+
+    @Value("${datagen.reply-ratio:0.3}")
+    private double replyRatio;
+
+    @Value("${datagen.content-length:2000}")
+    private int contentLength;
+
+    @Value("${datagen.days:1095}")
+    private int days;
+
+    @Value("${datagen.batch-size:1000}")
+    private int batchSize;
+
+    public SyntheticDataGenerator(SyntheticDataMapper syntheticDataMapper, PasswordEncoder passwordEncoder,
+                                  ConfigurableApplicationContext context) {
+        this.syntheticDataMapper = syntheticDataMapper;
+        this.passwordEncoder = passwordEncoder;
+        this.context = context;
+    }
+
+    @Override
+    public void run(String... args) {
+        if (users <= 0 || posts <= 0 || tags <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("datagen.users/posts/tags/batch-size 必须大于0");
+        }
+        long start = System.nanoTime();
+        log.info("开始生成数据: seed={}, users={}, posts={}, comments={}, tags={}, postTags={}",
+                seed, users, posts, comments, tags, postTags);
+
+        // 每类数据使用独立的随机源，调整某一类的数量不影响其他类生成的内容
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom userRandom = root.split();
+        SplittableRandom hotnessRandom = root.split();
+        SplittableRandom postRandom = root.split();
+        SplittableRandom tagRandom = root.split();
+        SplittableRandom commentRandom = root.split();
+
+        Map<String, Object> maxIds = syntheticDataMapper.selectMaxIds();
+        long userBase = ((Number) maxIds.get("maxUserId")).longValue();
+        long postBase = ((Number) maxIds.get("maxPostId")).longValue();
+        long commentBase = ((Number) maxIds.get("maxCommentId")).longValue();
+        long tagBase = ((Number) maxIds.get("maxTagId")).longValue();
+
+        long firstSecond = END_TIME.minusDays(days).toEpochSecond(ZoneOffset.UTC);
+        long span = TimeUnit.DAYS.toSeconds(days);
+
+        // 1. 用户
+        String passwordHash = passwordEncoder.encode(PASSWORD);
+        long[] userCursor = {0};
+        write("users", users, () -> {
+            long n = ++userCursor[0];
+            User user = new User();
+            user.setId(userBase + n);
+            user.setUsername(String.format("gen_user_%07d", n));
+            user.setPassword(passwordHash);
+            user.setEmail("gen_user_" + n + "@example.com");
+            user.setNickname("用户" + n);
+            user.setRole("user");
+            user.setStatus(1);
+            user.setCreatedAt(time(firstSecond + userRandom.nextLong(span)));
+            return user;
+        }, syntheticDataMapper::insertUsers);
+
+        // 2. 博客热度：评论按 Zipf 分布落到博客上，热门博客打散到整个ID区间
+        int[] commentCounts = new int[posts];
+        ZipfSampler postSampler = new ZipfSampler(posts, postSkew);
+        int stride = coprimeStride(posts);
+        for (long c = 0; c < comments; c++) {
+            commentCounts[(int) ((long) postSampler.sample(hotnessRandom) * stride % posts)]++;
+        }
+
+        // 3. 博客：按ID递增的发布时间
+        long[] postSeconds = new long[posts];
+        long slot = Math.max(1, span / posts);
+        int[] postCursor = {0};
+        write("blog_posts", posts, () -> {
+            int index = postCursor[0]++;
+            postSeconds[index] = firstSecond + index * span / posts + postRandom.nextLong(slot);
+            return post(postBase + index + 1, postSeconds[index], commentCounts[index], postRandom);
+        }, syntheticDataMapper::insertPosts);
+
+        // 4. 博客-标签关联：标签热度服从 Zipf 分布，同一博客内不重复
+        int[] tagCounts = new int[tags];
+        write("blog_post_tags", postTags, new LinkStream(postTags, tagBase, postBase, postSeconds, tagCounts,
+                new ZipfSampler(tags, tagSkew), tagRandom), syntheticDataMapper::insertPostTags);
+
+        // 5. 标签：文章数与上面生成的关联一致
+        int[] tagCursor = {0};
+        write("blog_tags", tags, () -> {
+            int rank = tagCursor[0]++;
+            Map<String, Object> tag = new HashMap<>(8);
+            tag.put("id", tagBase + rank + 1);
+            tag.put("name", String.format("gen-tag-%05d", rank + 1));
+            tag.put("postCount", tagCounts[rank]);
+            tag.put("createdAt", time(firstSecond + rank * span / tags));
+            return tag;
+        }, syntheticDataMapper::insertTags);
+
+        // 6. 评论：每篇博客的评论时间递增，一部分回复同一博客下更早的顶级评论
+        write("blog_comments", comments, new CommentStream(commentBase, postBase, userBase, commentCounts,
+                postSeconds, commentRandom), syntheticDataMapper::insertComments);
+
+        log.info("数据生成完成，耗时 {} 秒", TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start));
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+
+    /**
+     * 按批写入并定期打印进度
+     */
+    private <T> void write(String table, long total, Supplier<T> rows, ToIntFunction<List<T>> insert) {
+        long start = System.nanoTime();
+        long reportEvery = Math.max(batchSize, total / 20);
+        long nextReport = reportEvery;
+        List<T> batch = new ArrayList<>(batchSize);
+        for (long written = 0; written < total; ) {
+            batch.add(rows.get());
+            written++;
+            if (batch.size() == batchSize || written == total) {
+                insert.applyAsInt(batch);
+                batch.clear();
+                if (written >= nextReport || written == total) {
+                    double seconds = Math.max(1e-9, (System.nanoTime() - start) / 1e9);
+                    log.info("{}: {}/{} 行，{} 行/秒", table, written, total, (long) (written / seconds));
+                    nextReport += reportEvery;
+                }
+            }
+        }
+    }
+
+    private BlogPost post(long id, long createdSecond, int commentCount, SplittableRandom random) {
+        double r = random.nextDouble();
+        String content = text(random, contentLength / 2 + random.nextInt(contentLength + 1));
+
+        BlogPost post = new BlogPost();
+        post.setId(id);
+        post.setUserId(1L);
+        post.setTitle(text(random, 12 + random.nextInt(30)));
+        post.setExcerpt(content.substring(0, Math.min(content.length(), 120)));
+        post.setContent(content);
+        post.setCover(random.nextInt(10) < 7 ? "/files/gen-cover-" + random.nextInt(100) + ".jpg" : null);
+        post.setViews(commentCount * (10 + random.nextInt(40)) + random.nextInt(100));
+        post.setComments(commentCount);
+        post.setStatus(r < 0.9 ? "published" : r < 0.95 ? "draft" : "hidden");
+        post.setCreatedAt(time(createdSecond));
+        post.setUpdatedAt(post.getCreatedAt());
+        return post;
+    }
+
+    /**
+     * 由词表拼出指定长度左右的文本
+     */
+    private static String text(SplittableRandom random, int length) {
+        StringBuilder builder = new StringBuilder(length + 16);
+        while (builder.length() < length) {
+            if (!builder.isEmpty()) {
+                builder.append(random.nextInt(12) == 0 ? "，" : " ");
+            }
+            builder.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return builder.toString();
+    }
+
+    private static LocalDateTime time(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * 与 n 互质的步长，rank * stride % n 是 [0, n) 上的一个排列
+     */
+    private static int coprimeStride(int n) {
+        long stride = Math.max(1, (long) (n * 0.6180339887));
+        while (gcd(stride, n) != 1) {
+            stride++;
+        }
+        return (int) stride;
+    }
+
+    private static long gcd(long a, long b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+
+    /**
+     * 逐条产生博客-标签关联，总数平均分到每篇博客
+     */
+    private static final class LinkStream implements Supplier<Map<String, Object>> {
+
+        private final long tagBase;
+        private final long postBase;
+        private final long[] postSeconds;
+        private final int[] tagCounts;
+        private final ZipfSampler sampler;
+        private final SplittableRandom random;
+        private final long perPost;
+        private final long remainder;
+
+        private int postIndex = -1;
+        private int[] chosen = new int[0];
+        private int chosenCount;
+        private int position;
+
+        private LinkStream(long total, long tagBase, long postBase, long[] postSeconds, int[] tagCounts,
+                           ZipfSampler sampler, SplittableRandom random) {
+            if (total > (long) postSeconds.length * tagCounts.length) {
+                throw new IllegalArgumentException("datagen.post-tags 超过 posts * tags");
+            }
+            this.tagBase = tagBase;
+            this.postBase = postBase;
+            this.postSeconds = postSeconds;
+            this.tagCounts = tagCounts;
+            this.sampler = sampler;
+            this.random = random;
+            this.perPost = total / postSeconds.length;
+            this.remainder = total % postSeconds.length;
+        }
+
+        @Override
+        public Map<String, Object> get() {
+            while (position == chosenCount) {
+                nextPost();
+            }
+            int rank = chosen[position++];
+            tagCounts[rank]++;
+            Map<String, Object> link = new HashMap<>(4);
+            link.put("postId", postBase + postIndex + 1);
+            link.put("tagId", tagBase + rank + 1);
+            link.put("createdAt", time(postSeconds[postIndex]));
+            return link;
+        }
+
+        private void nextPost() {
+            postIndex++;
+            int count = (int) (perPost + (postIndex < remainder ? 1 : 0));
+            if (chosen.length < count) {
+                chosen = new int[count];
+            }
+            chosenCount = 0;
+            position = 0;
+            // 热门标签反复命中时重采样，次数过多则顺序补齐
+            for (int attempts = 0; chosenCount < count && attempts < count * 20; attempts++) {
+                addIfAbsent(sampler.sample(random));
+            }
+            for (int rank = 0; chosenCount < count; rank++) {
+                addIfAbsent(rank);
+            }
+        }
+
+        private void addIfAbsent(int rank) {
+            for (int i = 0; i < chosenCount; i++) {
+                if (chosen[i] == rank) {
+                    return;
+                }
+            }
+            chosen[chosenCount++] = rank;
+        }
+    }
+
+    /**
+     * 按博客顺序逐条产生评论
+     */
+    private final class CommentStream implements Supplier<BlogComment> {
+
+        private final long postBase;
+        private final long userBase;
+        private final int[] commentCounts;
+        private final long[] postSeconds;
+        private final SplittableRandom random;
+
+        private long nextId;
+        private int postIndex = -1;
+        private int remaining;
+        /**
+         * 当前博客全部评论的时间（升序），评论ID与时间同序
+         */
+        private long[] seconds = new long[16];
+        private long[] topLevel = new long[16];
+        private int topLevelCount;
+
+        private CommentStream(long commentBase, long postBase, long userBase, int[] commentCounts,
+                              long[] postSeconds, SplittableRandom random) {
+            this.nextId = commentBase + 1;
+            this.postBase = postBase;
+            this.userBase = userBase;
+            this.commentCounts = commentCounts;
+            this.postSeconds = postSeconds;
+            this.random = random;
+        }
+
+        @Override
+        public BlogComment get() {
+            while (remaining == 0) {
+                postIndex++;
+                remaining = commentCounts[postIndex];
+                spreadTimes(postSeconds[postIndex], remaining);
+                topLevelCount = 0;
+            }
+            long second = seconds[commentCounts[postIndex] - remaining];
+            remaining--;
+
+            BlogComment comment = new BlogComment();
+            comment.setId(nextId++);
+            comment.setPostId(postBase + postIndex + 1);
+            comment.setUserId(userBase + 1 + random.nextInt(users));
+            comment.setContent(text(random, 10 + random.nextInt(120)));
+            comment.setCreatedAt(time(second));
+            if (topLevelCount > 0 && random.nextDouble() < replyRatio) {
+                comment.setParentId(topLevel[random.nextInt(topLevelCount)]);
+            } else {
+                if (topLevelCount == topLevel.length) {
+                    topLevel = Arrays.copyOf(topLevel, topLevelCount * 2);
+                }
+                topLevel[topLevelCount++] = comment.getId();
+            }
+            return comment;
+        }
+
+        /**
+         * 在博客发布之后到 END_TIME 之间均匀取 count 个时间点并排序
+         */
+        private void spreadTimes(long postSecond, int count) {
+            if (seconds.length < count) {
+                seconds = new long[Math.max(count, seconds.length * 2)];
+            }
+            long range = Math.max(1, END_TIME.toEpochSecond(ZoneOffset.UTC) - postSecond - 1);
+            for (int i = 0; i < count; i++) {
+                seconds[i] = postSecond + 1 + random.nextLong(range);
+            }
+            Arrays.sort(seconds, 0, count);
+        }
+    }
+}
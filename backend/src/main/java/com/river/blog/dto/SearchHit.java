@@ -0,0 +1,60 @@
+package com.river.blog.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 搜索结果DTO
+ * 
+ * @author River
+ */
+@Data
+public class SearchHit {
+    
+    /**
+     * 文章ID
+     */
+    private Long id;
+    
+    /**
+     * 文章标题
+     */
+    private String title;
+    
+    /**
+     * 高亮后的标题（命中词用 &lt;em&gt; 包裹，其余内容已转义）
+     */
+    private String highlightedTitle;
+    
+    /**
+     * 文章摘要
+     */
+    private String excerpt;
+    
+    /**
+     * 正文命中片段（命中词用 &lt;em&gt; 包裹，其余内容已转义）
+     */
+    private String snippet;
+    
+    /**
+     * 封面图
+     */
+    private String cover;
+    
+    /**
+     * 标签列表
+     */
+    private List<String> tags;
+    
+    /**
+     * 创建时间
+     */
+    private LocalDateTime createdAt;
+    
+    /**
+     * 相关度得分（BM25）
+     */
+    private Double score;
+}
@@ -1,6 +1,7 @@
 package com.river.blog.entity;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * 博客评论实体
@@ -22,6 +23,10 @@ public class BlogComment {
     private String nickname;
     private String avatar;
     
+    // 非数据库字段
+    private Integer replyCount;
+    private List<BlogComment> replies;
+    
     public Long getId() {
         return id;
     }
@@ -101,4 +106,20 @@ public class BlogComment {
     public void setAvatar(String avatar) {
         this.avatar = avatar;
     }
+    
+    public Integer getReplyCount() {
+        return replyCount;
+    }
+    
+    public void setReplyCount(Integer replyCount) {
+        this.replyCount = replyCount;
+    }
+    
+    public List<BlogComment> getReplies() {
+        return replies;
+    }
+    
+    public void setReplies(List<BlogComment> replies) {
+        this.replies = replies;
+    }
 }
@@ -0,0 +1,76 @@
+package com.river.blog.entity;
+
+import lombok.Data;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 上传文件实体（按内容摘要去重，同一内容只保存一份）
+ * 
+ * @author River
+ */
+@Data
+public class UploadedFile implements Serializable {
+    
+    private static final long serialVersionUID = 1L;
+    
+    /**
+     * 文件ID
+     */
+    private Long id;
+    
+    /**
+     * 首次上传者ID（匿名上传为空）
+     */
+    private Long userId;
+    
+    /**
+     * 内容SHA-256（十六进制）
+     */
+    private String contentHash;
+    
+    /**
+     * 原始文件名
+     */
+    private String originalName;
+    
+    /**
+     * 保存的文件名
+     */
+    private String savedName;
+    
+    /**
+     * 文件路径
+     */
+    private String filePath;
+    
+    /**
+     * 文件访问URL
+     */
+    private String fileUrl;
+    
+    /**
+     * 文件大小（字节）
+     */
+    private Long fileSize;
+    
+    /**
+     * 文件类型（MIME）
+     */
+    private String fileType;
+    
+    /**
+     * 图片宽度
+     */
+    private Integer width;
+    
+    /**
+     * 图片高度
+     */
+    private Integer height;
+    
+    /**
+     * 创建时间
+     */
+    private LocalDateTime createdAt;
+}
@@ -8,6 +8,9 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -28,6 +31,24 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         this.jwtUtil = jwtUtil;
     }
     
+    /**
+     * 公开的GET接口不需要解析token
+     */
+    private static final RequestMatcher PUBLIC_GET_MATCHER = new OrRequestMatcher(
+            new AntPathRequestMatcher("/blogs", "GET"),
+            new AntPathRequestMatcher("/blogs/*", "GET"),
+            new AntPathRequestMatcher("/projects", "GET"),
+            new AntPathRequestMatcher("/files/**", "GET"),
+            new AntPathRequestMatcher("/tags", "GET"),
+            new AntPathRequestMatcher("/tags/counts", "GET"),
+            new AntPathRequestMatcher("/users/admin-profile", "GET")
+    );
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return PUBLIC_GET_MATCHER.matches(request);
+    }
+    
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) 
             throws ServletException, IOException {
@@ -38,17 +59,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             String token = header.substring(7);
             
             try {
-                if (jwtUtil.validateToken(token)) {
-                    String username = jwtUtil.getUsernameFromToken(token);
-                    Long userId = jwtUtil.getUserIdFromToken(token);
-                    String role = jwtUtil.getRoleFromToken(token);
-                    
+                // 一次解析得到全部用户信息
+                JwtUtil.JwtPrincipal principal = jwtUtil.verify(token);
+                if (principal != null) {
                     // 设置认证信息
                     UsernamePasswordAuthenticationToken authentication = 
                         new UsernamePasswordAuthenticationToken(
-                            userId, // principal设置为userId
+                            principal.userId(), // principal设置为userId
                             null,
-                            Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role.toUpperCase()))
+                            Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + principal.role().toUpperCase()))
                         );
                     
                     SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -0,0 +1,139 @@
+package com.river.blog.filter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.river.blog.common.Result;
+import com.river.blog.component.RateLimiter;
+import com.river.blog.util.JwtUtil;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * 写接口限流过滤器
+ *
+ * 排在 Spring Security 与 MVC 之前，超出配额的上传、评论、注册、登录请求直接返回 429，
+ * 不解析 multipart、不访问数据库。带有效 token 的请求按用户ID计数，其余按客户端IP计数
+ * （部署在代理后由 server.forward-headers-strategy 还原真实IP）。
+ * 登录另按用户名计数，防止从多个IP集中尝试同一账号：这里只检查该账号的失败配额是否用完，
+ * 扣减在密码校验失败后进行（见 UserServiceImpl.login）。
+ *
+ * @author River
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Pattern COMMENT_PATH = Pattern.compile("/blogs/\\d+/comments");
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private static final String LOGIN_PATH = "/auth/login";
+
+    /**
+     * 登录请求体上限（超出直接拒绝，避免借超大请求体绕过按用户名计数）
+     */
+    private static final int MAX_LOGIN_BODY = 8 * 1024;
+
+    private final RateLimiter rateLimiter;
+    private final JwtUtil jwtUtil;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(RateLimiter rateLimiter, JwtUtil jwtUtil, ObjectMapper objectMapper) {
+        this.rateLimiter = rateLimiter;
+        this.jwtUtil = jwtUtil;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String path = request.getServletPath();
+        String route = route(path);
+        if (route != null) {
+            long waitNanos = rateLimiter.tryAcquire(route, client(request));
+            if (waitNanos == 0 && LOGIN_PATH.equals(path)) {
+                CachedBodyRequest cached = CachedBodyRequest.of(request, MAX_LOGIN_BODY);
+                if (cached == null) {
+                    reject(response, HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE, "请求体过大");
+                    return;
+                }
+                request = cached;
+                String username = username(cached.getBody());
+                if (username != null) {
+                    waitNanos = rateLimiter.peek(RateLimiter.LOGIN_ACCOUNT, username);
+                }
+            }
+            if (waitNanos > 0) {
+                long retryAfter = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+                response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+                reject(response, 429, "请求过于频繁，请稍后重试");
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private void reject(HttpServletResponse response, int status, String message) throws IOException {
+        response.setStatus(status);
+        byte[] body = objectMapper.writeValueAsBytes(Result.error(status, message));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * 从登录请求体中取用户名（按账号计数键规整），解析失败时返回null
+     */
+    private String username(byte[] body) {
+        try {
+            JsonNode username = objectMapper.readTree(body).get("username");
+            if (username == null || !username.isTextual() || username.asText().isBlank()) {
+                return null;
+            }
+            return RateLimiter.account(username.asText());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static String route(String path) {
+        switch (path) {
+            case "/files/upload":
+                return RateLimiter.UPLOAD;
+            case "/auth/register":
+                return RateLimiter.REGISTER;
+            case LOGIN_PATH:
+            case "/auth/admin":
+                return RateLimiter.LOGIN;
+            default:
+                return COMMENT_PATH.matcher(path).matches() ? RateLimiter.COMMENT : null;
+        }
+    }
+
+    /**
+     * 客户端标识：有效 token 的用户ID，否则为IP
+     */
+    private String client(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(BEARER_PREFIX)) {
+            // 无效 token 按IP计数，认证失败由后续过滤器处理
+            JwtUtil.JwtPrincipal principal = jwtUtil.verify(header.substring(BEARER_PREFIX.length()));
+            if (principal != null) {
+                return "user:" + principal.userId();
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,202 @@
+package com.river.blog.interceptor;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SQL 语句耗时统计拦截器
+ *
+ * 按 Mapper 语句ID（如 BlogPostMapper.selectById）记录耗时直方图、返回/影响行数和失败次数，
+ * 超过阈值的慢查询连同绑定参数打印一条 WARN 日志。
+ *
+ * @author River
+ */
+@Component
+@Intercepts({
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class}),
+        @Signature(type = Executor.class, method = "update",
+                args = {MappedStatement.class, Object.class})
+})
+public class SqlMetricsInterceptor implements Interceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlMetricsInterceptor.class);
+
+    /**
+     * 直方图上限（微秒），超出的按上限记录
+     */
+    private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private static final int MAX_PARAM_LENGTH = 100;
+
+    private final long slowThresholdNanos;
+
+    private final ConcurrentHashMap<String, StatementMetrics> metrics = new ConcurrentHashMap<>();
+
+    public SqlMetricsInterceptor(@Value("${mybatis.metrics.slow-threshold-ms:200}") long slowThresholdMs) {
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        MappedStatement statement = (MappedStatement) invocation.getArgs()[0];
+        StatementMetrics statementMetrics = metrics.computeIfAbsent(statement.getId(), StatementMetrics::new);
+
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = invocation.proceed();
+        } catch (Throwable e) {
+            statementMetrics.errors.increment();
+            statementMetrics.record(System.nanoTime() - start, 0);
+            throw e;
+        }
+        long elapsed = System.nanoTime() - start;
+        statementMetrics.record(elapsed, rowCount(result));
+
+        if (elapsed >= slowThresholdNanos) {
+            Object parameter = invocation.getArgs()[1];
+            BoundSql boundSql = invocation.getArgs().length == 6
+                    ? (BoundSql) invocation.getArgs()[5]
+                    : statement.getBoundSql(parameter);
+            log.warn("Slow SQL {} took {} ms: {} params={}", statementMetrics.name,
+                    TimeUnit.NANOSECONDS.toMillis(elapsed),
+                    boundSql.getSql().replaceAll("\\s+", " ").trim(),
+                    boundParameters(statement.getConfiguration(), boundSql, parameter));
+        }
+        return result;
+    }
+
+    /**
+     * 按总耗时降序返回各语句统计
+     */
+    public List<Map<String, Object>> snapshot() {
+        List<StatementMetrics> all = new ArrayList<>(metrics.values());
+        all.sort(Comparator.comparingLong((StatementMetrics m) -> m.totalMicros.sum()).reversed());
+
+        List<Map<String, Object>> result = new ArrayList<>(all.size());
+        for (StatementMetrics m : all) {
+            result.add(m.toMap());
+        }
+        return result;
+    }
+
+    private static long rowCount(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Number number) {
+            return number.longValue();
+        }
+        return result != null ? 1 : 0;
+    }
+
+    /**
+     * 按 SQL 中占位符的顺序取出参数值（与 DefaultParameterHandler 取值方式一致）
+     */
+    private static List<Object> boundParameters(Configuration configuration, BoundSql boundSql, Object parameter) {
+        List<ParameterMapping> mappings = boundSql.getParameterMappings();
+        List<Object> values = new ArrayList<>(mappings.size());
+        MetaObject metaObject = null;
+        for (ParameterMapping mapping : mappings) {
+            String property = mapping.getProperty();
+            Object value;
+            if (boundSql.hasAdditionalParameter(property)) {
+                value = boundSql.getAdditionalParameter(property);
+            } else if (parameter == null) {
+                value = null;
+            } else if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameter.getClass())) {
+                value = parameter;
+            } else {
+                if (metaObject == null) {
+                    metaObject = configuration.newMetaObject(parameter);
+                }
+                value = metaObject.getValue(property);
+            }
+            values.add(display(property, value));
+        }
+        return values;
+    }
+
+    private static Object display(String property, Object value) {
+        if (property.toLowerCase(Locale.ROOT).contains("password")) {
+            return "******";
+        }
+        if (value instanceof String text && text.length() > MAX_PARAM_LENGTH) {
+            return text.substring(0, MAX_PARAM_LENGTH) + "...(" + text.length() + " chars)";
+        }
+        return value;
+    }
+
+    /**
+     * 单条语句的统计
+     */
+    private static final class StatementMetrics {
+
+        private final String name;
+        private final ConcurrentHistogram histogram = new ConcurrentHistogram(1, MAX_TRACKABLE_MICROS, 2);
+        private final LongAdder totalMicros = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+
+        private StatementMetrics(String id) {
+            // 去掉包名：com.river.blog.mapper.BlogPostMapper.selectById -> BlogPostMapper.selectById
+            int methodDot = id.lastIndexOf('.');
+            int typeDot = methodDot > 0 ? id.lastIndexOf('.', methodDot - 1) : -1;
+            this.name = id.substring(typeDot + 1);
+        }
+
+        private void record(long elapsedNanos, long rowCount) {
+            long micros = Math.max(1, Math.min(MAX_TRACKABLE_MICROS, TimeUnit.NANOSECONDS.toMicros(elapsedNanos)));
+            histogram.recordValue(micros);
+            totalMicros.add(micros);
+            rows.add(rowCount);
+        }
+
+        private Map<String, Object> toMap() {
+            long count = histogram.getTotalCount();
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("statement", name);
+            map.put("count", count);
+            map.put("errors", errors.sum());
+            map.put("rows", rows.sum());
+            map.put("avgRows", count > 0 ? (double) rows.sum() / count : 0);
+            map.put("totalMs", totalMicros.sum() / 1000.0);
+            map.put("meanMs", histogram.getMean() / 1000.0);
+            map.put("p50Ms", histogram.getValueAtPercentile(50) / 1000.0);
+            map.put("p90Ms", histogram.getValueAtPercentile(90) / 1000.0);
+            map.put("p99Ms", histogram.getValueAtPercentile(99) / 1000.0);
+            map.put("maxMs", histogram.getMaxValue() / 1000.0);
+            return map;
+        }
+    }
+}
@@ -4,7 +4,9 @@ import com.river.blog.entity.BlogComment;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 博客评论Mapper
@@ -24,6 +26,29 @@ public interface BlogCommentMapper {
      */
     List<BlogComment> selectByPostId(@Param("postId") Long postId);
     
+    /**
+     * 游标分页查询顶层评论（按 created_at, id 降序）
+     */
+    List<BlogComment> selectTopLevelByCursor(@Param("postId") Long postId,
+                                             @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                             @Param("cursorId") Long cursorId,
+                                             @Param("limit") Integer limit);
+    
+    /**
+     * 游标分页查询直接回复（按 created_at, id 升序）
+     */
+    List<BlogComment> selectRepliesByCursor(@Param("postId") Long postId,
+                                            @Param("parentId") Long parentId,
+                                            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                            @Param("cursorId") Long cursorId,
+                                            @Param("limit") Integer limit);
+    
+    /**
+     * 批量统计直接回复数（返回 parentId/replyCount）
+     */
+    List<Map<String, Object>> countRepliesByParentIds(@Param("postId") Long postId,
+                                                      @Param("parentIds") List<Long> parentIds);
+    
     /**
      * 插入评论
      */
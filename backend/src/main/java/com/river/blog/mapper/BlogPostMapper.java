@@ -1,10 +1,13 @@
 package com.river.blog.mapper;
 
+import com.river.blog.dto.BlogPostSummary;
 import com.river.blog.entity.BlogPost;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 博客文章Mapper
@@ -20,11 +23,34 @@ public interface BlogPostMapper {
     BlogPost selectById(@Param("id") Long id);
     
     /**
-     * 查询博客列表
+     * 查询博客摘要列表（不含正文）
      */
-    List<BlogPost> selectList(@Param("status") String status, 
-                               @Param("offset") Integer offset, 
-                               @Param("limit") Integer limit);
+    List<BlogPostSummary> selectSummaryList(@Param("status") String status,
+                                            @Param("offset") Integer offset,
+                                            @Param("limit") Integer limit);
+    
+    /**
+     * 游标分页查询博客摘要列表（按 created_at, id 降序，取游标之后的记录）
+     */
+    List<BlogPostSummary> selectListByCursor(@Param("status") String status,
+                                             @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                             @Param("cursorId") Long cursorId,
+                                             @Param("limit") Integer limit);
+    
+    /**
+     * 根据ID集合查询博客摘要（顺序不保证）
+     */
+    List<BlogPostSummary> selectSummaryByIds(@Param("ids") List<Long> ids);
+    
+    /**
+     * 按 created_at 升序查询所有博客的ID和状态（用于构建标签位图索引）
+     */
+    List<Map<String, Object>> selectIdStatusList();
+    
+    /**
+     * 按ID顺序分批查询博客（含正文，用于构建检索索引）
+     */
+    List<BlogPost> selectForIndex(@Param("afterId") Long afterId, @Param("limit") Integer limit);
     
     /**
      * 查询总数
@@ -51,6 +77,16 @@ public interface BlogPostMapper {
      */
     int incrementViews(@Param("id") Long id);
     
+    /**
+     * 批量累加浏览量（key: 博客ID, value: 增量）
+     */
+    int incrementViewsBatch(@Param("deltas") Map<Long, Long> deltas);
+    
+    /**
+     * 查询浏览量
+     */
+    Integer selectViews(@Param("id") Long id);
+    
     /**
      * 更新状态
      */
@@ -61,15 +97,35 @@ public interface BlogPostMapper {
      */
     int updateCommentCount(@Param("id") Long id, @Param("comments") int comments);
     
+    /**
+     * 增量更新评论数（delta 可为负，结果不小于0）
+     */
+    int incrementCommentCount(@Param("id") Long id, @Param("delta") int delta);
+    
+    /**
+     * 查询最大博客ID
+     */
+    Long selectMaxId();
+    
+    /**
+     * 按评论表校正 ID 区间 [fromId, toId] 内博客的评论数，返回修正的行数
+     */
+    int reconcileCommentCounts(@Param("fromId") Long fromId, @Param("toId") Long toId);
+    
     /**
      * 查询博客的内容图片
      */
     List<String> selectContentImages(@Param("postId") Long postId);
     
     /**
-     * 插入内容图片
+     * 批量查询多篇博客的内容图片（返回 ownerId/item）
+     */
+    List<Map<String, Object>> selectContentImagesByPostIds(@Param("postIds") List<Long> postIds);
+    
+    /**
+     * 批量插入内容图片（sort_order 为列表下标）
      */
-    int insertContentImage(@Param("postId") Long postId, @Param("imageUrl") String imageUrl, @Param("sortOrder") int sortOrder);
+    int insertContentImages(@Param("postId") Long postId, @Param("imageUrls") List<String> imageUrls);
     
     /**
      * 删除博客的所有内容图片
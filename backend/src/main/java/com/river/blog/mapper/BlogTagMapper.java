@@ -3,6 +3,7 @@ package com.river.blog.mapper;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -24,21 +25,56 @@ public interface BlogTagMapper {
      */
     int insertTag(@Param("name") String name);
     
+    /**
+     * 批量插入标签（已存在的保持不变）
+     */
+    int insertTagsIfAbsent(@Param("names") Collection<String> names);
+    
+    /**
+     * 根据名称批量查询标签（返回 id/name）
+     */
+    List<Map<String, Object>> selectIdsByNames(@Param("names") Collection<String> names);
+    
     /**
      * 查询文章的所有标签
      */
     List<String> selectTagsByPostId(@Param("postId") Long postId);
     
     /**
-     * 插入文章-标签关联
+     * 批量查询多篇文章的标签（返回 ownerId/item）
      */
-    int insertPostTag(@Param("postId") Long postId, @Param("tagId") Long tagId);
+    List<Map<String, Object>> selectTagsByPostIds(@Param("postIds") List<Long> postIds);
+    
+    /**
+     * 批量插入文章-标签关联
+     */
+    int insertPostTags(@Param("postId") Long postId, @Param("tagIds") Collection<Long> tagIds);
+    
+    /**
+     * 标签文章数 +1
+     */
+    int incrementPostCount(@Param("tagIds") Collection<Long> tagIds);
+    
+    /**
+     * 文章关联的所有标签文章数 -1（需在删除关联之前调用）
+     */
+    int decrementPostCountByPostId(@Param("postId") Long postId);
+    
+    /**
+     * 按关联表重新计算所有标签的文章数
+     */
+    int reconcilePostCounts();
     
     /**
      * 删除文章的所有标签关联
      */
     int deletePostTags(@Param("postId") Long postId);
     
+    /**
+     * 查询所有文章-标签关联（返回 postId/tagId/name）
+     */
+    List<Map<String, Object>> selectPostTagLinks();
+    
     /**
      * 获取所有标签（按创建时间降序）
      */
@@ -5,6 +5,7 @@ import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * 项目Mapper
@@ -45,9 +46,14 @@ public interface ProjectMapper {
     List<String> selectTechStackByProjectId(@Param("projectId") Long projectId);
     
     /**
-     * 插入项目技术栈
+     * 批量查询多个项目的技术栈（返回 ownerId/item）
      */
-    int insertTechStack(@Param("projectId") Long projectId, @Param("techName") String techName);
+    List<Map<String, Object>> selectTechStackByProjectIds(@Param("projectIds") List<Long> projectIds);
+    
+    /**
+     * 批量插入项目技术栈
+     */
+    int insertTechStacks(@Param("projectId") Long projectId, @Param("techNames") List<String> techNames);
     
     /**
      * 删除项目技术栈
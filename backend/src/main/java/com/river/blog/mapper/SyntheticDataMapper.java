@@ -0,0 +1,49 @@
+package com.river.blog.mapper;
+
+import com.river.blog.entity.BlogComment;
+import com.river.blog.entity.BlogPost;
+import com.river.blog.entity.User;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 合成数据Mapper（仅供 datagen 生成器批量写入，ID 由调用方指定）
+ *
+ * @author River
+ */
+@Mapper
+public interface SyntheticDataMapper {
+    
+    /**
+     * 查询各表当前最大ID（maxUserId/maxPostId/maxCommentId/maxTagId）
+     */
+    Map<String, Object> selectMaxIds();
+    
+    /**
+     * 批量插入用户
+     */
+    int insertUsers(@Param("users") List<User> users);
+    
+    /**
+     * 批量插入博客（含评论数、浏览量）
+     */
+    int insertPosts(@Param("posts") List<BlogPost> posts);
+    
+    /**
+     * 批量插入评论
+     */
+    int insertComments(@Param("comments") List<BlogComment> comments);
+    
+    /**
+     * 批量插入标签（id/name/postCount/createdAt）
+     */
+    int insertTags(@Param("tags") List<Map<String, Object>> tags);
+    
+    /**
+     * 批量插入博客-标签关联（postId/tagId/createdAt）
+     */
+    int insertPostTags(@Param("links") List<Map<String, Object>> links);
+}
@@ -0,0 +1,24 @@
+package com.river.blog.mapper;
+
+import com.river.blog.entity.UploadedFile;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * 上传文件Mapper
+ * 
+ * @author River
+ */
+@Mapper
+public interface UploadedFileMapper {
+    
+    /**
+     * 根据内容摘要查询（唯一索引）
+     */
+    UploadedFile selectByHash(@Param("contentHash") String contentHash);
+    
+    /**
+     * 插入文件记录，摘要已存在时忽略（并发上传相同内容）
+     */
+    int insertIgnore(UploadedFile uploadedFile);
+}
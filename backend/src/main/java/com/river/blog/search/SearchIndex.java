@@ -0,0 +1,397 @@
+package com.river.blog.search;
+
+import com.river.blog.dto.SearchHit;
+import com.river.blog.entity.BlogPost;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.ToIntFunction;
+
+/**
+ * 博客全文检索内存索引
+ * 
+ * 倒排索引覆盖标题、摘要、标签和正文，按 BM25 打分（各字段加权计入词频），
+ * 查询完全在内存中完成，不访问数据库。只返回已发布的文章。
+ * 
+ * @author River
+ */
+@Component
+public class SearchIndex {
+    
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    
+    private static final int TITLE_WEIGHT = 3;
+    private static final int TAG_WEIGHT = 3;
+    private static final int EXCERPT_WEIGHT = 2;
+    private static final int CONTENT_WEIGHT = 1;
+    
+    private static final int SNIPPET_LENGTH = 120;
+    private static final int SNIPPET_LEADING = 30;
+    
+    /**
+     * 词项 -> 包含该词项的文章ID
+     */
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    
+    /**
+     * 单个汉字 -> 包含该字的二元组词项（单字查询时展开）
+     */
+    private final Map<String, Set<String>> bigramsByChar = new HashMap<>();
+    
+    /**
+     * 文章ID -> 索引文档
+     */
+    private final Map<Long, IndexedPost> documents = new HashMap<>();
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    private long totalLength;
+    
+    /**
+     * 索引文档（构建后不再修改，status 除外）
+     */
+    static final class IndexedPost {
+        private Long id;
+        private String title;
+        private String excerpt;
+        private String cover;
+        private List<String> tags;
+        private LocalDateTime createdAt;
+        private volatile String status;
+        private String plainContent;
+        private Map<String, Integer> termFrequencies;
+        private int length;
+    }
+    
+    /**
+     * 由博客构建索引文档（纯计算，可并行调用）
+     */
+    public static IndexedPost buildDocument(BlogPost post) {
+        IndexedPost doc = new IndexedPost();
+        doc.id = post.getId();
+        doc.title = post.getTitle() != null ? post.getTitle() : "";
+        doc.excerpt = post.getExcerpt();
+        doc.cover = post.getCover();
+        doc.tags = post.getTags() != null ? List.copyOf(post.getTags()) : Collections.emptyList();
+        doc.createdAt = post.getCreatedAt();
+        doc.status = post.getStatus();
+        doc.plainContent = Tokenizer.plainText(post.getContent());
+        
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = 0;
+        length += addTerms(frequencies, doc.title, TITLE_WEIGHT);
+        length += addTerms(frequencies, doc.excerpt, EXCERPT_WEIGHT);
+        for (String tag : doc.tags) {
+            length += addTerms(frequencies, tag, TAG_WEIGHT);
+        }
+        length += addTerms(frequencies, doc.plainContent, CONTENT_WEIGHT);
+        doc.termFrequencies = frequencies;
+        doc.length = length;
+        return doc;
+    }
+    
+    private static int addTerms(Map<String, Integer> frequencies, String text, int weight) {
+        List<String> tokens = Tokenizer.tokenize(text);
+        for (String token : tokens) {
+            frequencies.merge(token, weight, Integer::sum);
+        }
+        return tokens.size() * weight;
+    }
+    
+    /**
+     * 新增或更新一篇博客
+     */
+    public void index(BlogPost post) {
+        putAll(List.of(buildDocument(post)));
+    }
+    
+    /**
+     * 批量写入已构建的文档
+     */
+    public void putAll(Collection<IndexedPost> docs) {
+        lock.writeLock().lock();
+        try {
+            for (IndexedPost doc : docs) {
+                removeInternal(doc.id);
+                documents.put(doc.id, doc);
+                totalLength += doc.length;
+                for (String term : doc.termFrequencies.keySet()) {
+                    Set<Long> ids = postings.get(term);
+                    if (ids == null) {
+                        ids = new HashSet<>();
+                        postings.put(term, ids);
+                        linkBigram(term, true);
+                    }
+                    ids.add(doc.id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * 删除一篇博客
+     */
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * 更新博客状态（发布/隐藏）
+     */
+    public void updateStatus(Long id, String status) {
+        lock.readLock().lock();
+        try {
+            IndexedPost doc = documents.get(id);
+            if (doc != null) {
+                doc.status = status;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private void removeInternal(Long id) {
+        IndexedPost old = documents.remove(id);
+        if (old == null) {
+            return;
+        }
+        totalLength -= old.length;
+        for (String term : old.termFrequencies.keySet()) {
+            Set<Long> ids = postings.get(term);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    postings.remove(term);
+                    linkBigram(term, false);
+                }
+            }
+        }
+    }
+    
+    /**
+     * 维护单字到二元组的映射
+     */
+    private void linkBigram(String term, boolean add) {
+        String[] chars = Tokenizer.splitCjkBigram(term);
+        if (chars == null) {
+            return;
+        }
+        for (String c : chars) {
+            if (add) {
+                bigramsByChar.computeIfAbsent(c, k -> new HashSet<>()).add(term);
+            } else {
+                Set<String> bigrams = bigramsByChar.get(c);
+                if (bigrams != null && bigrams.remove(term) && bigrams.isEmpty()) {
+                    bigramsByChar.remove(c);
+                }
+            }
+        }
+    }
+    
+    /**
+     * 已索引的文章数
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * 搜索已发布的博客，按相关度降序返回前 limit 条
+     */
+    public List<SearchHit> search(String query, int limit) {
+        Set<String> terms = new LinkedHashSet<>(Tokenizer.tokenize(query));
+        if (terms.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        
+        lock.readLock().lock();
+        try {
+            int docCount = documents.size();
+            if (docCount == 0) {
+                return Collections.emptyList();
+            }
+            double averageLength = Math.max((double) totalLength / docCount, 1.0);
+            
+            // BM25 累加得分
+            Map<Long, Double> scores = new HashMap<>();
+            for (String term : terms) {
+                if (Tokenizer.isCjkChar(term)) {
+                    // 单字查询：合并该字本身与包含它的全部二元组，视为一个词项计分
+                    Set<String> expanded = new HashSet<>(bigramsByChar.getOrDefault(term, Collections.emptySet()));
+                    expanded.add(term);
+                    Set<Long> ids = new HashSet<>();
+                    for (String t : expanded) {
+                        ids.addAll(postings.getOrDefault(t, Collections.emptySet()));
+                    }
+                    accumulate(scores, ids, doc -> {
+                        int tf = 0;
+                        for (String t : expanded) {
+                            tf += doc.termFrequencies.getOrDefault(t, 0);
+                        }
+                        return tf;
+                    }, docCount, averageLength);
+                } else {
+                    Set<Long> ids = postings.get(term);
+                    if (ids != null) {
+                        accumulate(scores, ids, doc -> doc.termFrequencies.get(term), docCount, averageLength);
+                    }
+                }
+            }
+            
+            // 取前 limit 条
+            PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(Map.Entry.comparingByValue());
+            for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+                top.offer(entry);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            
+            List<SearchHit> hits = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                Map.Entry<Long, Double> entry = top.poll();
+                hits.add(toHit(documents.get(entry.getKey()), entry.getValue(), terms));
+            }
+            Collections.reverse(hits);
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * 按 BM25 累加一个词项的得分（ids 为包含该词项的文章，tf 取该词项在文章中的加权词频）
+     */
+    private void accumulate(Map<Long, Double> scores, Set<Long> ids, ToIntFunction<IndexedPost> tf,
+                            int docCount, double averageLength) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        double idf = Math.log(1 + (docCount - ids.size() + 0.5) / (ids.size() + 0.5));
+        for (Long id : ids) {
+            IndexedPost doc = documents.get(id);
+            if (!"published".equals(doc.status)) {
+                continue;
+            }
+            int frequency = tf.applyAsInt(doc);
+            double norm = frequency + K1 * (1 - B + B * doc.length / averageLength);
+            scores.merge(id, idf * frequency * (K1 + 1) / norm, Double::sum);
+        }
+    }
+    
+    private SearchHit toHit(IndexedPost doc, double score, Collection<String> terms) {
+        SearchHit hit = new SearchHit();
+        hit.setId(doc.id);
+        hit.setTitle(doc.title);
+        hit.setHighlightedTitle(highlight(doc.title, terms, 0, doc.title.length()));
+        hit.setExcerpt(doc.excerpt);
+        hit.setCover(doc.cover);
+        hit.setTags(doc.tags);
+        hit.setCreatedAt(doc.createdAt);
+        hit.setScore(score);
+        hit.setSnippet(snippet(doc.plainContent, terms));
+        return hit;
+    }
+    
+    /**
+     * 截取正文中第一个命中词附近的片段并高亮
+     */
+    private static String snippet(String text, Collection<String> terms) {
+        if (text.isEmpty()) {
+            return "";
+        }
+        String lower = lowerCase(text);
+        int first = -1;
+        for (String term : terms) {
+            int index = lower.indexOf(term);
+            if (index >= 0 && (first < 0 || index < first)) {
+                first = index;
+            }
+        }
+        int start = first < 0 ? 0 : Math.max(0, first - SNIPPET_LEADING);
+        int end = Math.min(text.length(), start + SNIPPET_LENGTH);
+        String snippet = highlight(text, terms, start, end);
+        return (start > 0 ? "…" : "") + snippet + (end < text.length() ? "…" : "");
+    }
+    
+    /**
+     * 对 text[start, end) 做高亮：命中区间合并后用 &lt;em&gt; 包裹，其余字符做 HTML 转义
+     */
+    private static String highlight(String text, Collection<String> terms, int start, int end) {
+        String lower = lowerCase(text);
+        boolean[] marked = new boolean[end - start];
+        for (String term : terms) {
+            int from = Math.max(0, start - term.length() + 1);
+            int index;
+            while ((index = lower.indexOf(term, from)) >= 0 && index < end) {
+                int markStart = Math.max(index, start);
+                int markEnd = Math.min(index + term.length(), end);
+                for (int i = markStart; i < markEnd; i++) {
+                    marked[i - start] = true;
+                }
+                from = index + 1;
+            }
+        }
+        
+        StringBuilder sb = new StringBuilder(end - start + 16);
+        boolean open = false;
+        for (int i = start; i < end; i++) {
+            boolean m = marked[i - start];
+            if (m && !open) {
+                sb.append("<em>");
+                open = true;
+            } else if (!m && open) {
+                sb.append("</em>");
+                open = false;
+            }
+            appendEscaped(sb, text.charAt(i));
+        }
+        if (open) {
+            sb.append("</em>");
+        }
+        return sb.toString();
+    }
+    
+    /**
+     * 小写化；长度发生变化的极少数字符集直接使用原文，保证下标对齐
+     */
+    private static String lowerCase(String text) {
+        String lower = text.toLowerCase(Locale.ROOT);
+        return lower.length() == text.length() ? lower : text;
+    }
+    
+    private static void appendEscaped(StringBuilder sb, char c) {
+        switch (c) {
+            case '<' -> sb.append("&lt;");
+            case '>' -> sb.append("&gt;");
+            case '&' -> sb.append("&amp;");
+            case '"' -> sb.append("&quot;");
+            default -> sb.append(c);
+        }
+    }
+}
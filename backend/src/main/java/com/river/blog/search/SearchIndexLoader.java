@@ -0,0 +1,63 @@
+package com.river.blog.search;
+
+import com.river.blog.entity.BlogPost;
+import com.river.blog.mapper.BlogPostMapper;
+import com.river.blog.mapper.BlogTagMapper;
+import com.river.blog.util.HydrationUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 启动时构建全文检索索引
+ * 
+ * 按ID分批读取博客，分词在并行流中完成，再批量写入索引。
+ * 
+ * @author River
+ */
+@Component
+public class SearchIndexLoader {
+    
+    private static final Logger log = LoggerFactory.getLogger(SearchIndexLoader.class);
+    
+    private static final int BATCH_SIZE = 500;
+    
+    private final BlogPostMapper blogPostMapper;
+    private final BlogTagMapper blogTagMapper;
+    private final SearchIndex searchIndex;
+    
+    public SearchIndexLoader(BlogPostMapper blogPostMapper, BlogTagMapper blogTagMapper, SearchIndex searchIndex) {
+        this.blogPostMapper = blogPostMapper;
+        this.blogTagMapper = blogTagMapper;
+        this.searchIndex = searchIndex;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.currentTimeMillis();
+        try {
+            long afterId = 0;
+            while (true) {
+                List<BlogPost> batch = blogPostMapper.selectForIndex(afterId, BATCH_SIZE);
+                if (batch.isEmpty()) {
+                    break;
+                }
+                HydrationUtil.hydrate(batch, BlogPost::getId, blogTagMapper::selectTagsByPostIds, BlogPost::setTags);
+                
+                List<SearchIndex.IndexedPost> docs = batch.parallelStream()
+                        .map(SearchIndex::buildDocument)
+                        .toList();
+                searchIndex.putAll(docs);
+                
+                afterId = batch.get(batch.size() - 1).getId();
+            }
+            log.info("全文检索索引构建完成: {} 篇, 耗时 {} ms", searchIndex.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("全文检索索引构建失败: {}", e.getMessage());
+        }
+    }
+}
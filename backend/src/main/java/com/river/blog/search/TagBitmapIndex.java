@@ -0,0 +1,292 @@
+package com.river.blog.search;
+
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 标签位图索引
+ * 
+ * 每篇博客按 created_at 顺序分配一个序号（新文章追加在末尾），
+ * 每个标签、每种状态各对应一个 RoaringBitmap 记录序号集合。
+ * 标签的与/或/非组合、计数和分页都在位图上完成，不访问数据库。
+ * 
+ * @author River
+ */
+@Component
+public class TagBitmapIndex {
+    
+    /**
+     * 序号 -> 博客ID
+     */
+    private long[] postIds = new long[1024];
+    private int nextOrdinal;
+    
+    /**
+     * 博客ID -> 序号
+     */
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    
+    /**
+     * 博客ID -> 标签ID
+     */
+    private final Map<Long, long[]> postTags = new HashMap<>();
+    
+    private final Map<Long, RoaringBitmap> tagBitmaps = new HashMap<>();
+    /**
+     * 小写标签名 -> 标签ID（与库中不区分大小写的排序规则一致）
+     */
+    private final Map<String, Long> tagIdsByName = new HashMap<>();
+    private final Map<Long, String> tagNames = new HashMap<>();
+    
+    private final Map<String, RoaringBitmap> statusBitmaps = new HashMap<>();
+    private final Map<Long, String> statuses = new HashMap<>();
+    private final RoaringBitmap live = new RoaringBitmap();
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    /**
+     * 分页查询结果
+     */
+    public record Page(List<Long> postIds, int total) {
+    }
+    
+    /**
+     * 追加一篇博客（需按 created_at 升序调用）
+     */
+    public void addPost(Long postId, String status) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.get(postId);
+            if (ordinal == null) {
+                ordinal = nextOrdinal++;
+                if (ordinal >= postIds.length) {
+                    postIds = Arrays.copyOf(postIds, postIds.length * 2);
+                }
+                postIds[ordinal] = postId;
+                ordinals.put(postId, ordinal);
+                live.add(ordinal);
+            }
+            setStatusInternal(postId, ordinal, status);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * 删除一篇博客
+     */
+    public void removePost(Long postId) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.remove(postId);
+            if (ordinal == null) {
+                return;
+            }
+            clearTagsInternal(postId, ordinal);
+            String status = statuses.remove(postId);
+            if (status != null) {
+                statusBitmaps.get(status).remove(ordinal);
+            }
+            live.remove(ordinal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * 更新博客状态
+     */
+    public void setStatus(Long postId, String status) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.get(postId);
+            if (ordinal != null) {
+                setStatusInternal(postId, ordinal, status);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * 用新的标签集合替换博客的标签（key: 标签ID, value: 标签名）
+     */
+    public void setTags(Long postId, Map<Long, String> tags) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.get(postId);
+            if (ordinal == null) {
+                return;
+            }
+            clearTagsInternal(postId, ordinal);
+            long[] tagIds = new long[tags.size()];
+            int i = 0;
+            for (Map.Entry<Long, String> tag : tags.entrySet()) {
+                registerTag(tag.getKey(), tag.getValue());
+                tagBitmaps.computeIfAbsent(tag.getKey(), k -> new RoaringBitmap()).add(ordinal);
+                tagIds[i++] = tag.getKey();
+            }
+            postTags.put(postId, tagIds);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * 清空博客的标签
+     */
+    public void clearTags(Long postId) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.get(postId);
+            if (ordinal != null) {
+                clearTagsInternal(postId, ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * 按标签筛选博客，按 created_at 降序分页
+     * 
+     * @param status      状态，为空时不限
+     * @param allTags     必须全部包含的标签（与）
+     * @param anyTags     至少包含其一的标签（或）
+     * @param excludeTags 不能包含的标签（非）
+     */
+    public Page query(String status, Collection<String> allTags, Collection<String> anyTags,
+                      Collection<String> excludeTags, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap result;
+            if (status != null && !status.isEmpty()) {
+                RoaringBitmap byStatus = statusBitmaps.get(status);
+                result = byStatus != null ? byStatus.clone() : new RoaringBitmap();
+            } else {
+                result = live.clone();
+            }
+            
+            if (allTags != null) {
+                for (String name : allTags) {
+                    RoaringBitmap bitmap = bitmapOf(name);
+                    if (bitmap == null) {
+                        return new Page(List.of(), 0);
+                    }
+                    result.and(bitmap);
+                }
+            }
+            if (anyTags != null && !anyTags.isEmpty()) {
+                RoaringBitmap union = new RoaringBitmap();
+                for (String name : anyTags) {
+                    RoaringBitmap bitmap = bitmapOf(name);
+                    if (bitmap != null) {
+                        union.or(bitmap);
+                    }
+                }
+                result.and(union);
+            }
+            if (excludeTags != null) {
+                for (String name : excludeTags) {
+                    RoaringBitmap bitmap = bitmapOf(name);
+                    if (bitmap != null) {
+                        result.andNot(bitmap);
+                    }
+                }
+            }
+            
+            // 序号越大越新，从高位按名次直接定位到页首
+            int total = result.getCardinality();
+            offset = Math.max(offset, 0);
+            List<Long> ids = new ArrayList<>(Math.max(Math.min(limit, total - offset), 0));
+            for (int rank = total - 1 - offset; rank >= 0 && ids.size() < limit; rank--) {
+                ids.add(postIds[result.select(rank)]);
+            }
+            return new Page(ids, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * 各标签下指定状态的博客数（key: 标签名），状态为空时不限
+     */
+    public Map<String, Integer> countByTag(String status) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap scope = status != null && !status.isEmpty() ? statusBitmaps.get(status) : live;
+            Map<String, Integer> counts = new LinkedHashMap<>();
+            for (Map.Entry<Long, RoaringBitmap> entry : tagBitmaps.entrySet()) {
+                int count = scope == null ? 0 : RoaringBitmap.andCardinality(entry.getValue(), scope);
+                counts.put(tagNames.get(entry.getKey()), count);
+            }
+            return counts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * 清空索引（重新加载前调用）
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postIds = new long[1024];
+            nextOrdinal = 0;
+            ordinals.clear();
+            postTags.clear();
+            tagBitmaps.clear();
+            tagIdsByName.clear();
+            tagNames.clear();
+            statusBitmaps.clear();
+            statuses.clear();
+            live.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    private RoaringBitmap bitmapOf(String tagName) {
+        Long tagId = tagName != null ? tagIdsByName.get(tagName.toLowerCase(Locale.ROOT)) : null;
+        return tagId != null ? tagBitmaps.get(tagId) : null;
+    }
+    
+    private void registerTag(Long tagId, String name) {
+        if (name != null) {
+            tagIdsByName.put(name.toLowerCase(Locale.ROOT), tagId);
+            tagNames.put(tagId, name);
+        }
+    }
+    
+    private void setStatusInternal(Long postId, int ordinal, String status) {
+        String old = statuses.put(postId, status);
+        if (old != null) {
+            statusBitmaps.get(old).remove(ordinal);
+        }
+        statusBitmaps.computeIfAbsent(status, k -> new RoaringBitmap()).add(ordinal);
+    }
+    
+    private void clearTagsInternal(Long postId, int ordinal) {
+        long[] old = postTags.remove(postId);
+        if (old == null) {
+            return;
+        }
+        for (long tagId : old) {
+            RoaringBitmap bitmap = tagBitmaps.get(tagId);
+            if (bitmap != null) {
+                bitmap.remove(ordinal);
+            }
+        }
+    }
+}
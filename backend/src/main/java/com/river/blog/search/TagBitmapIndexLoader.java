@@ -0,0 +1,62 @@
+package com.river.blog.search;
+
+import com.river.blog.mapper.BlogPostMapper;
+import com.river.blog.mapper.BlogTagMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 启动时构建标签位图索引
+ * 
+ * @author River
+ */
+@Component
+public class TagBitmapIndexLoader {
+    
+    private static final Logger log = LoggerFactory.getLogger(TagBitmapIndexLoader.class);
+    
+    private final BlogPostMapper blogPostMapper;
+    private final BlogTagMapper blogTagMapper;
+    private final TagBitmapIndex tagBitmapIndex;
+    
+    public TagBitmapIndexLoader(BlogPostMapper blogPostMapper, BlogTagMapper blogTagMapper, TagBitmapIndex tagBitmapIndex) {
+        this.blogPostMapper = blogPostMapper;
+        this.blogTagMapper = blogTagMapper;
+        this.tagBitmapIndex = tagBitmapIndex;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.currentTimeMillis();
+        try {
+            tagBitmapIndex.clear();
+            
+            // 按 created_at 升序分配序号
+            List<Map<String, Object>> posts = blogPostMapper.selectIdStatusList();
+            for (Map<String, Object> post : posts) {
+                tagBitmapIndex.addPost(((Number) post.get("id")).longValue(), (String) post.get("status"));
+            }
+            
+            // 按文章分组后写入标签
+            Map<Long, Map<Long, String>> tagsByPost = new HashMap<>();
+            for (Map<String, Object> link : blogTagMapper.selectPostTagLinks()) {
+                Long postId = ((Number) link.get("postId")).longValue();
+                Long tagId = ((Number) link.get("tagId")).longValue();
+                tagsByPost.computeIfAbsent(postId, k -> new LinkedHashMap<>()).put(tagId, (String) link.get("name"));
+            }
+            tagsByPost.forEach(tagBitmapIndex::setTags);
+            
+            log.info("标签位图索引构建完成: {} 篇, 耗时 {} ms", posts.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("标签位图索引构建失败: {}", e.getMessage());
+        }
+    }
+}
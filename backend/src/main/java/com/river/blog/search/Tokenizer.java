@@ -0,0 +1,111 @@
+package com.river.blog.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * 分词器
+ * 
+ * 中日韩文字按二元组（bigram）切分，单独一个汉字时保留单字（检索时单字查询会展开为包含该字的二元组）；
+ * 字母和数字按连续片段切成小写单词。
+ * 
+ * @author River
+ */
+public final class Tokenizer {
+    
+    private static final Pattern HTML_TAG = Pattern.compile("<[^>]*>");
+    private static final Pattern MARKDOWN_SYMBOL = Pattern.compile("[#*`>\\[\\]!_~|]+|\\((https?://|/)[^)]*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    
+    private Tokenizer() {
+    }
+    
+    /**
+     * 切分为词项列表（保留重复，用于统计词频）
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            int cp = text.codePointAt(i);
+            if (isCjk(cp)) {
+                // 连续的中日韩文字，相邻两字组成一个词项
+                int start = i;
+                int previous = -1;
+                while (i < length && isCjk(text.codePointAt(i))) {
+                    int next = i + Character.charCount(text.codePointAt(i));
+                    if (previous >= 0) {
+                        tokens.add(text.substring(previous, next));
+                    }
+                    previous = i;
+                    i = next;
+                }
+                if (previous == start) {
+                    tokens.add(text.substring(start, i));
+                }
+            } else if (Character.isLetterOrDigit(cp)) {
+                // 连续的字母数字
+                int start = i;
+                while (i < length) {
+                    int c = text.codePointAt(i);
+                    if (!Character.isLetterOrDigit(c) || isCjk(c)) {
+                        break;
+                    }
+                    i += Character.charCount(c);
+                }
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+            } else {
+                i += Character.charCount(cp);
+            }
+        }
+        return tokens;
+    }
+    
+    /**
+     * 去掉 HTML 标签与常见 Markdown 符号，得到纯文本
+     */
+    public static String plainText(String content) {
+        if (content == null || content.isEmpty()) {
+            return "";
+        }
+        String text = HTML_TAG.matcher(content).replaceAll(" ");
+        text = MARKDOWN_SYMBOL.matcher(text).replaceAll(" ");
+        return WHITESPACE.matcher(text).replaceAll(" ").trim();
+    }
+    
+    /**
+     * 是否为单个中日韩字符
+     */
+    static boolean isCjkChar(String term) {
+        return !term.isEmpty() && term.length() == Character.charCount(term.codePointAt(0)) && isCjk(term.codePointAt(0));
+    }
+    
+    /**
+     * 拆分中日韩二元组词项为两个单字，不是二元组时返回null
+     */
+    static String[] splitCjkBigram(String term) {
+        if (term.isEmpty() || !isCjk(term.codePointAt(0))) {
+            return null;
+        }
+        int second = Character.charCount(term.codePointAt(0));
+        if (second >= term.length() || second + Character.charCount(term.codePointAt(second)) != term.length()) {
+            return null;
+        }
+        return new String[]{term.substring(0, second), term.substring(second)};
+    }
+    
+    private static boolean isCjk(int cp) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(cp);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA
+                || script == Character.UnicodeScript.HANGUL;
+    }
+}
@@ -0,0 +1,39 @@
+package com.river.blog.service;
+
+import com.river.blog.entity.BlogComment;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 博客评论Service
+ * 
+ * @author River
+ */
+public interface BlogCommentService {
+    
+    /**
+     * 游标分页获取顶层评论（新的在前，附带直接回复数）
+     */
+    Map<String, Object> getTopLevelComments(Long postId, String cursor, Integer size);
+    
+    /**
+     * 游标分页获取某条评论的直接回复（旧的在前，附带直接回复数）
+     */
+    Map<String, Object> getReplies(Long postId, Long parentId, String cursor, Integer size);
+    
+    /**
+     * 发表评论（同一事务内评论数 +1），返回包含用户信息的完整评论
+     */
+    BlogComment createComment(BlogComment comment);
+    
+    /**
+     * 删除评论（同一事务内评论数 -1）
+     */
+    void deleteComment(BlogComment comment);
+    
+    /**
+     * 获取文章全部评论并组装成树
+     */
+    List<BlogComment> getCommentTree(Long postId);
+}
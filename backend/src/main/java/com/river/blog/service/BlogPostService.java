@@ -1,5 +1,6 @@
 package com.river.blog.service;
 
+import com.river.blog.dto.SearchHit;
 import com.river.blog.entity.BlogPost;
 
 import java.util.List;
@@ -17,6 +18,22 @@ public interface BlogPostService {
      */
     Map<String, Object> getBlogList(String status, Integer page, Integer size);
     
+    /**
+     * 游标分页获取博客列表
+     */
+    Map<String, Object> getBlogListByCursor(String status, String cursor, Integer size);
+    
+    /**
+     * 按标签筛选博客列表（tags 全部包含、anyTags 包含其一、excludeTags 均不包含）
+     */
+    Map<String, Object> getBlogListByTags(String status, List<String> tags, List<String> anyTags,
+                                          List<String> excludeTags, Integer page, Integer size);
+    
+    /**
+     * 全文搜索已发布的博客
+     */
+    List<SearchHit> searchBlogs(String keyword, Integer size);
+    
     /**
      * 根据ID获取博客
      */
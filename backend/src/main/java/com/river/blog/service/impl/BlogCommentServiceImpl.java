@@ -0,0 +1,139 @@
+package com.river.blog.service.impl;
+
+import com.river.blog.common.PageCursor;
+import com.river.blog.component.ContentVersions;
+import com.river.blog.component.PostDetailCache;
+import com.river.blog.entity.BlogComment;
+import com.river.blog.mapper.BlogCommentMapper;
+import com.river.blog.mapper.BlogPostMapper;
+import com.river.blog.service.BlogCommentService;
+import com.river.blog.util.CommentTreeUtil;
+import com.river.blog.util.LongObjectMap;
+import com.river.blog.util.TransactionUtil;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 博客评论Service实现
+ * 
+ * @author River
+ */
+@Service
+public class BlogCommentServiceImpl implements BlogCommentService {
+    
+    /**
+     * 每页最大条数
+     */
+    private static final int MAX_PAGE_SIZE = 100;
+    
+    private final BlogCommentMapper blogCommentMapper;
+    private final BlogPostMapper blogPostMapper;
+    private final PostDetailCache postDetailCache;
+    private final ContentVersions contentVersions;
+    
+    public BlogCommentServiceImpl(BlogCommentMapper blogCommentMapper, BlogPostMapper blogPostMapper,
+                                  PostDetailCache postDetailCache, ContentVersions contentVersions) {
+        this.blogCommentMapper = blogCommentMapper;
+        this.blogPostMapper = blogPostMapper;
+        this.postDetailCache = postDetailCache;
+        this.contentVersions = contentVersions;
+    }
+    
+    @Override
+    public Map<String, Object> getTopLevelComments(Long postId, String cursor, Integer size) {
+        PageCursor position = PageCursor.decode(cursor);
+        size = pageSize(size);
+        
+        // 多取一条用于判断是否还有下一页
+        List<BlogComment> list = position == null
+                ? blogCommentMapper.selectTopLevelByCursor(postId, null, null, size + 1)
+                : blogCommentMapper.selectTopLevelByCursor(postId, position.createdAt(), position.id(), size + 1);
+        
+        return buildPage(postId, list, size);
+    }
+    
+    @Override
+    public Map<String, Object> getReplies(Long postId, Long parentId, String cursor, Integer size) {
+        PageCursor position = PageCursor.decode(cursor);
+        size = pageSize(size);
+        
+        List<BlogComment> list = position == null
+                ? blogCommentMapper.selectRepliesByCursor(postId, parentId, null, null, size + 1)
+                : blogCommentMapper.selectRepliesByCursor(postId, parentId, position.createdAt(), position.id(), size + 1);
+        
+        return buildPage(postId, list, size);
+    }
+    
+    @Override
+    @Transactional
+    public BlogComment createComment(BlogComment comment) {
+        blogCommentMapper.insert(comment);
+        
+        // 增量更新评论数，不再重新 COUNT
+        blogPostMapper.incrementCommentCount(comment.getPostId(), 1);
+        postDetailCache.invalidate(comment.getPostId());
+        TransactionUtil.runAfterCommit(() -> contentVersions.postChanged(comment.getPostId()));
+        
+        return blogCommentMapper.selectById(comment.getId());
+    }
+    
+    @Override
+    @Transactional
+    public void deleteComment(BlogComment comment) {
+        if (blogCommentMapper.deleteById(comment.getId()) > 0) {
+            blogPostMapper.incrementCommentCount(comment.getPostId(), -1);
+            postDetailCache.invalidate(comment.getPostId());
+            TransactionUtil.runAfterCommit(() -> contentVersions.postChanged(comment.getPostId()));
+        }
+    }
+    
+    @Override
+    public List<BlogComment> getCommentTree(Long postId) {
+        return CommentTreeUtil.build(blogCommentMapper.selectByPostId(postId));
+    }
+    
+    /**
+     * 每页条数限制在 [1, MAX_PAGE_SIZE]
+     */
+    private static int pageSize(Integer size) {
+        return Math.max(1, Math.min(size == null ? 20 : size, MAX_PAGE_SIZE));
+    }
+    
+    /**
+     * 截取一页、生成下一页游标并批量填充回复数
+     */
+    private Map<String, Object> buildPage(Long postId, List<BlogComment> list, int size) {
+        String nextCursor = null;
+        if (list.size() > size) {
+            list = new ArrayList<>(list.subList(0, size));
+            BlogComment last = list.get(size - 1);
+            nextCursor = new PageCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        
+        if (!list.isEmpty()) {
+            List<Long> ids = new ArrayList<>(list.size());
+            for (BlogComment comment : list) {
+                ids.add(comment.getId());
+            }
+            LongObjectMap<Integer> counts = new LongObjectMap<>(ids.size());
+            for (Map<String, Object> row : blogCommentMapper.countRepliesByParentIds(postId, ids)) {
+                counts.put(((Number) row.get("parentId")).longValue(), ((Number) row.get("replyCount")).intValue());
+            }
+            for (BlogComment comment : list) {
+                Integer count = counts.get(comment.getId());
+                comment.setReplyCount(count != null ? count : 0);
+            }
+        }
+        
+        Map<String, Object> result = new HashMap<>();
+        result.put("list", list);
+        result.put("size", size);
+        result.put("nextCursor", nextCursor);
+        return result;
+    }
+}
@@ -1,16 +1,35 @@
 package com.river.blog.service.impl;
 
+import com.river.blog.common.PageCursor;
+import com.river.blog.component.ContentVersions;
+import com.river.blog.component.FanOut;
+import com.river.blog.component.PostDetailCache;
+import com.river.blog.component.TagListSnapshot;
+import com.river.blog.component.ViewCounter;
+import com.river.blog.dto.BlogPostSummary;
+import com.river.blog.dto.SearchHit;
 import com.river.blog.entity.BlogPost;
 import com.river.blog.mapper.BlogPostMapper;
 import com.river.blog.mapper.BlogTagMapper;
 import com.river.blog.mapper.BlogCommentMapper;
+import com.river.blog.search.SearchIndex;
+import com.river.blog.search.TagBitmapIndex;
 import com.river.blog.service.BlogPostService;
+import com.river.blog.util.HydrationUtil;
+import com.river.blog.util.TransactionUtil;
+import org.springframework.beans.BeanUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 博客Service实现
@@ -20,14 +39,41 @@ import java.util.Map;
 @Service
 public class BlogPostServiceImpl implements BlogPostService {
     
+    /**
+     * 分页每页最大条数
+     */
+    private static final int MAX_PAGE_SIZE = 100;
+    
+    /**
+     * 标签名称最大长度（blog_tags.name 列宽）
+     */
+    private static final int MAX_TAG_LENGTH = 50;
+    
     private final BlogPostMapper blogPostMapper;
     private final BlogTagMapper blogTagMapper;
     private final BlogCommentMapper blogCommentMapper;
+    private final ViewCounter viewCounter;
+    private final PostDetailCache postDetailCache;
+    private final SearchIndex searchIndex;
+    private final TagBitmapIndex tagBitmapIndex;
+    private final TagListSnapshot tagListSnapshot;
+    private final ContentVersions contentVersions;
+    private final FanOut fanOut;
     
-    public BlogPostServiceImpl(BlogPostMapper blogPostMapper, BlogTagMapper blogTagMapper, BlogCommentMapper blogCommentMapper) {
+    public BlogPostServiceImpl(BlogPostMapper blogPostMapper, BlogTagMapper blogTagMapper, BlogCommentMapper blogCommentMapper,
+                               ViewCounter viewCounter, PostDetailCache postDetailCache, SearchIndex searchIndex,
+                               TagBitmapIndex tagBitmapIndex, TagListSnapshot tagListSnapshot,
+                               ContentVersions contentVersions, FanOut fanOut) {
         this.blogPostMapper = blogPostMapper;
         this.blogTagMapper = blogTagMapper;
         this.blogCommentMapper = blogCommentMapper;
+        this.viewCounter = viewCounter;
+        this.postDetailCache = postDetailCache;
+        this.searchIndex = searchIndex;
+        this.tagBitmapIndex = tagBitmapIndex;
+        this.tagListSnapshot = tagListSnapshot;
+        this.contentVersions = contentVersions;
+        this.fanOut = fanOut;
     }
     
     @Override
@@ -35,20 +81,19 @@ public class BlogPostServiceImpl implements BlogPostService {
         // 计算偏移量
         int offset = (page - 1) * size;
         
+        // 总数与列表互不依赖，可并发查询
+        CompletableFuture<Integer> totalFuture = fanOut.supply(() -> blogPostMapper.countByStatus(status));
+        
         // 查询列表
-        List<BlogPost> list = blogPostMapper.selectList(status, offset, size);
+        List<BlogPostSummary> list = blogPostMapper.selectSummaryList(status, offset, size);
         
-        // 查询每篇博客的标签和图片
-        for (BlogPost post : list) {
-            List<String> tags = blogTagMapper.selectTagsByPostId(post.getId());
-            post.setTags(tags);
-            
-            List<String> contentImages = blogPostMapper.selectContentImages(post.getId());
-            post.setContentImages(contentImages);
-        }
+        // 批量查询整页博客的标签和图片
+        CompletableFuture<Void> tagsFuture = fanOut.run(() -> HydrationUtil.hydrate(
+                list, BlogPostSummary::getId, blogTagMapper::selectTagsByPostIds, BlogPostSummary::setTags));
+        HydrationUtil.hydrate(list, BlogPostSummary::getId, blogPostMapper::selectContentImagesByPostIds, BlogPostSummary::setContentImages);
+        fanOut.join(tagsFuture);
         
-        // 查询总数
-        int total = blogPostMapper.countByStatus(status);
+        int total = fanOut.join(totalFuture);
         
         // 构建返回结果
         Map<String, Object> result = new HashMap<>();
@@ -60,22 +105,93 @@ public class BlogPostServiceImpl implements BlogPostService {
         return result;
     }
     
+    @Override
+    public Map<String, Object> getBlogListByCursor(String status, String cursor, Integer size) {
+        PageCursor position = PageCursor.decode(cursor);
+        // 每页条数限制在 [1, MAX_PAGE_SIZE]
+        size = Math.max(1, Math.min(size == null ? 10 : size, MAX_PAGE_SIZE));
+        
+        // 多取一条用于判断是否还有下一页
+        List<BlogPostSummary> list = position == null
+                ? blogPostMapper.selectListByCursor(status, null, null, size + 1)
+                : blogPostMapper.selectListByCursor(status, position.createdAt(), position.id(), size + 1);
+        
+        String nextCursor = null;
+        if (list.size() > size) {
+            list = list.subList(0, size);
+            BlogPostSummary last = list.get(size - 1);
+            nextCursor = new PageCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        
+        HydrationUtil.hydrate(list, BlogPostSummary::getId, blogTagMapper::selectTagsByPostIds, BlogPostSummary::setTags);
+        HydrationUtil.hydrate(list, BlogPostSummary::getId, blogPostMapper::selectContentImagesByPostIds, BlogPostSummary::setContentImages);
+        
+        // 游标模式不返回总数，避免每页都做 COUNT
+        Map<String, Object> result = new HashMap<>();
+        result.put("list", list);
+        result.put("size", size);
+        result.put("nextCursor", nextCursor);
+        
+        return result;
+    }
+    
+    @Override
+    public Map<String, Object> getBlogListByTags(String status, List<String> tags, List<String> anyTags,
+                                                 List<String> excludeTags, Integer page, Integer size) {
+        // 页码从1开始，每页条数限制在 [1, MAX_PAGE_SIZE]，偏移量按 long 计算防止溢出
+        page = Math.max(1, page == null ? 1 : page);
+        size = Math.max(1, Math.min(size == null ? 10 : size, MAX_PAGE_SIZE));
+        int offset = (int) Math.min((long) (page - 1) * size, Integer.MAX_VALUE);
+        
+        // 在位图索引上完成筛选、计数和分页
+        TagBitmapIndex.Page result = tagBitmapIndex.query(status, tags, anyTags, excludeTags, offset, size);
+        
+        // 按索引给出的顺序回填摘要
+        List<BlogPostSummary> list = new ArrayList<>(result.postIds().size());
+        if (!result.postIds().isEmpty()) {
+            Map<Long, BlogPostSummary> byId = new HashMap<>();
+            for (BlogPostSummary summary : blogPostMapper.selectSummaryByIds(result.postIds())) {
+                byId.put(summary.getId(), summary);
+            }
+            for (Long postId : result.postIds()) {
+                BlogPostSummary summary = byId.get(postId);
+                if (summary != null) {
+                    list.add(summary);
+                }
+            }
+        }
+        
+        HydrationUtil.hydrate(list, BlogPostSummary::getId, blogTagMapper::selectTagsByPostIds, BlogPostSummary::setTags);
+        HydrationUtil.hydrate(list, BlogPostSummary::getId, blogPostMapper::selectContentImagesByPostIds, BlogPostSummary::setContentImages);
+        
+        Map<String, Object> data = new HashMap<>();
+        data.put("list", list);
+        data.put("total", result.total());
+        data.put("page", page);
+        data.put("size", size);
+        
+        return data;
+    }
+    
+    @Override
+    public List<SearchHit> searchBlogs(String keyword, Integer size) {
+        return searchIndex.search(keyword, size);
+    }
+    
     @Override
     public BlogPost getBlogById(Long id) {
-        BlogPost blogPost = blogPostMapper.selectById(id);
-        if (blogPost != null) {
-            // 查询标签
-            List<String> tags = blogTagMapper.selectTagsByPostId(id);
-            blogPost.setTags(tags);
-            
-            // 查询内容图片
-            List<String> contentImages = blogPostMapper.selectContentImages(id);
-            blogPost.setContentImages(contentImages);
-            
-            // 更新评论数
-            int commentCount = blogCommentMapper.countByPostId(id);
-            blogPost.setComments(commentCount);
+        // 读缓存，未命中时回源（同一ID的并发未命中只查一次库）
+        BlogPost cached = postDetailCache.get(id, this::loadBlog);
+        if (cached == null) {
+            return null;
         }
+        
+        // 复制一份再修改，不污染缓存中的对象
+        BlogPost blogPost = new BlogPost();
+        BeanUtils.copyProperties(cached, blogPost);
+        
+        // 浏览量不取缓存中的值，由 ViewCounter 提供（含尚未写回的增量）
+        blogPost.setViews((int) viewCounter.views(id, blogPost.getViews()));
         return blogPost;
     }
     
@@ -84,6 +200,12 @@ public class BlogPostServiceImpl implements BlogPostService {
     public BlogPost createBlog(BlogPost blogPost, List<String> tags) {
         // 插入博客
         blogPostMapper.insert(blogPost);
+        Long postId = blogPost.getId();
+        String status = blogPost.getStatus();
+        TransactionUtil.runAfterCommit(() -> {
+            tagBitmapIndex.addPost(postId, status);
+            contentVersions.postChanged(postId);
+        });
         
         // 保存标签
         if (tags != null && !tags.isEmpty()) {
@@ -95,7 +217,11 @@ public class BlogPostServiceImpl implements BlogPostService {
             saveContentImages(blogPost.getId(), blogPost.getContentImages());
         }
         
-        return getBlogById(blogPost.getId());
+        // 直接回源，事务未提交的数据不写入详情缓存
+        BlogPost created = loadBlog(postId);
+        // 提交后写入检索索引
+        TransactionUtil.runAfterCommit(() -> searchIndex.index(created));
+        return created;
     }
     
     @Override
@@ -103,9 +229,10 @@ public class BlogPostServiceImpl implements BlogPostService {
     public BlogPost updateBlog(Long id, BlogPost blogPost, List<String> tags) {
         blogPost.setId(id);
         blogPostMapper.update(blogPost);
+        postDetailCache.invalidate(id);
         
         // 删除旧标签
-        blogTagMapper.deletePostTags(id);
+        deletePostTags(id);
         
         // 保存新标签
         if (tags != null && !tags.isEmpty()) {
@@ -120,7 +247,14 @@ public class BlogPostServiceImpl implements BlogPostService {
             saveContentImages(id, blogPost.getContentImages());
         }
         
-        return getBlogById(id);
+        BlogPost updated = getBlogById(id);
+        // 提交后更新检索索引
+        TransactionUtil.runAfterCommit(() -> {
+            searchIndex.index(updated);
+            tagBitmapIndex.setStatus(id, updated.getStatus());
+            contentVersions.postChanged(id);
+        });
+        return updated;
     }
     
     @Override
@@ -129,11 +263,18 @@ public class BlogPostServiceImpl implements BlogPostService {
         // 删除评论
         blogCommentMapper.deleteByPostId(id);
         // 删除标签关联
-        blogTagMapper.deletePostTags(id);
+        deletePostTags(id);
         // 删除内容图片
         blogPostMapper.deleteContentImages(id);
         // 删除博客
         blogPostMapper.deleteById(id);
+        postDetailCache.invalidate(id);
+        TransactionUtil.runAfterCommit(() -> {
+            viewCounter.forget(id);
+            searchIndex.remove(id);
+            tagBitmapIndex.removePost(id);
+            contentVersions.postChanged(id);
+        });
     }
     
     @Override
@@ -142,12 +283,38 @@ public class BlogPostServiceImpl implements BlogPostService {
         if (blogPost != null) {
             String newStatus = "published".equals(blogPost.getStatus()) ? "hidden" : "published";
             blogPostMapper.updateStatus(id, newStatus);
+            postDetailCache.invalidate(id);
+            searchIndex.updateStatus(id, newStatus);
+            tagBitmapIndex.setStatus(id, newStatus);
+            contentVersions.postChanged(id);
         }
     }
     
     @Override
     public void incrementViews(Long id) {
-        blogPostMapper.incrementViews(id);
+        // 只在内存中累加，由 ViewCounter 定时批量写回
+        viewCounter.increment(id);
+    }
+    
+    /**
+     * 从数据库加载博客详情（含标签、图片）
+     */
+    private BlogPost loadBlog(Long id) {
+        // 标签、内容图片与博客本身互不依赖，可并发查询
+        CompletableFuture<List<String>> tagsFuture = fanOut.supply(() -> blogTagMapper.selectTagsByPostId(id));
+        CompletableFuture<List<String>> imagesFuture = fanOut.supply(() -> blogPostMapper.selectContentImages(id));
+        
+        BlogPost blogPost = blogPostMapper.selectById(id);
+        if (blogPost != null) {
+            // 查询标签
+            blogPost.setTags(fanOut.join(tagsFuture));
+            
+            // 查询内容图片
+            blogPost.setContentImages(fanOut.join(imagesFuture));
+            
+            // 评论数直接使用随评论增删维护的 comments 字段
+        }
+        return blogPost;
     }
     
     /**
@@ -155,18 +322,95 @@ public class BlogPostServiceImpl implements BlogPostService {
      */
     private void saveTags(Long postId, List<String> tags) {
         if (tags != null && !tags.isEmpty()) {
-            for (String tagName : tags) {
-                // 查询标签是否存在
-                Long tagId = blogTagMapper.selectIdByName(tagName);
+            List<String> names = normalizeTags(tags);
+            if (names.isEmpty()) {
+                return;
+            }
+            
+            // 先查已有标签，只为缺少的标签执行插入（重复键也会消耗自增ID）
+            Map<String, Long> idsByName = new HashMap<>();
+            Map<String, Long> idsByLowerName = new HashMap<>();
+            collectTagIds(blogTagMapper.selectIdsByNames(names), idsByName, idsByLowerName);
+            List<String> missing = names.stream()
+                    .filter(name -> !idsByLowerName.containsKey(name.toLowerCase(Locale.ROOT)))
+                    .toList();
+            if (!missing.isEmpty()) {
+                // 并发创建同名标签时由唯一键去重，再查回ID
+                blogTagMapper.insertTagsIfAbsent(missing);
+                collectTagIds(blogTagMapper.selectIdsByNames(missing), idsByName, idsByLowerName);
+            }
+            
+            Map<Long, String> saved = new LinkedHashMap<>();
+            for (String tagName : names) {
+                // 库中排序规则不区分大小写，名称大小写不同时按小写匹配
+                Long tagId = idsByName.get(tagName);
                 if (tagId == null) {
-                    // 不存在则创建
-                    blogTagMapper.insertTag(tagName);
-                    tagId = blogTagMapper.selectIdByName(tagName);
+                    tagId = idsByLowerName.get(tagName.toLowerCase(Locale.ROOT));
+                }
+                if (tagId != null) {
+                    saved.putIfAbsent(tagId, tagName);
                 }
-                // 建立关联
-                blogTagMapper.insertPostTag(postId, tagId);
             }
+            if (saved.isEmpty()) {
+                return;
+            }
+            
+            // 多行插入关联
+            blogTagMapper.insertPostTags(postId, saved.keySet());
+            
+            // 同一事务内维护标签文章数
+            blogTagMapper.incrementPostCount(saved.keySet());
+            
+            // 提交后同步标签位图索引和标签列表快照
+            TransactionUtil.runAfterCommit(() -> {
+                tagBitmapIndex.setTags(postId, saved);
+                tagListSnapshot.invalidate();
+                contentVersions.tagsChanged();
+            });
+        }
+    }
+    
+    /**
+     * 去掉首尾空白、空标签和重复标签，超过列宽的标签直接报错（避免插入时被截断）
+     */
+    private static List<String> normalizeTags(List<String> tags) {
+        Set<String> names = new LinkedHashSet<>();
+        for (String tag : tags) {
+            if (tag == null || tag.isBlank()) {
+                continue;
+            }
+            String name = tag.strip();
+            if (name.codePointCount(0, name.length()) > MAX_TAG_LENGTH) {
+                throw new RuntimeException("标签长度不能超过" + MAX_TAG_LENGTH + "个字符: " + name);
+            }
+            names.add(name);
         }
+        return new ArrayList<>(names);
+    }
+    
+    private static void collectTagIds(List<Map<String, Object>> rows, Map<String, Long> idsByName,
+                                      Map<String, Long> idsByLowerName) {
+        for (Map<String, Object> row : rows) {
+            Long tagId = ((Number) row.get("id")).longValue();
+            String name = (String) row.get("name");
+            idsByName.put(name, tagId);
+            idsByLowerName.put(name.toLowerCase(Locale.ROOT), tagId);
+        }
+    }
+    
+    /**
+     * 删除文章的所有标签关联
+     */
+    private void deletePostTags(Long postId) {
+        // 先扣减标签文章数，再删除关联
+        blogTagMapper.decrementPostCountByPostId(postId);
+        blogTagMapper.deletePostTags(postId);
+        
+        TransactionUtil.runAfterCommit(() -> {
+            tagBitmapIndex.clearTags(postId);
+            tagListSnapshot.invalidate();
+            contentVersions.tagsChanged();
+        });
     }
     
     /**
@@ -174,9 +418,8 @@ public class BlogPostServiceImpl implements BlogPostService {
      */
     private void saveContentImages(Long postId, List<String> images) {
         if (images != null && !images.isEmpty()) {
-            for (int i = 0; i < images.size(); i++) {
-                blogPostMapper.insertContentImage(postId, images.get(i), i);
-            }
+            // 多行插入，sort_order 取列表下标
+            blogPostMapper.insertContentImages(postId, images);
         }
     }
     
@@ -1,19 +1,39 @@
 package com.river.blog.service.impl;
 
+import com.river.blog.component.ImageDerivatives;
+import com.river.blog.entity.UploadedFile;
+import com.river.blog.mapper.UploadedFileMapper;
 import com.river.blog.service.FileService;
+import com.river.blog.util.FileTypeUtil;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import jakarta.annotation.PostConstruct;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
 import java.util.Map;
-import java.util.UUID;
+import java.util.Set;
 
 /**
  * 文件Service实现
@@ -23,12 +43,35 @@ import java.util.UUID;
 @Service
 public class FileServiceImpl implements FileService {
     
+    private final UploadedFileMapper uploadedFileMapper;
+    private final ImageDerivatives imageDerivatives;
+    
     @Value("${file.upload.path}")
     private String uploadPath;
     
     @Value("${file.upload.url-prefix}")
     private String urlPrefix;
     
+    /**
+     * 流式写入缓冲区大小
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+    
+    /**
+     * 临时文件目录（位于上传目录内，保证原子移动在同一文件系统）
+     */
+    private static final String TEMP_DIR = ".tmp";
+    
+    /**
+     * 上传文件权限（rw-r--r--）
+     */
+    private static final Set<PosixFilePermission> FILE_PERMISSIONS = PosixFilePermissions.fromString("rw-r--r--");
+    
+    public FileServiceImpl(UploadedFileMapper uploadedFileMapper, ImageDerivatives imageDerivatives) {
+        this.uploadedFileMapper = uploadedFileMapper;
+        this.imageDerivatives = imageDerivatives;
+    }
+    
     /**
      * 初始化方法，确保上传目录存在
      */
@@ -71,33 +114,164 @@ public class FileServiceImpl implements FileService {
                 System.out.println("[文件上传] 动态创建目录: " + uploadDir.getAbsolutePath());
             }
             
-            // 获取原始文件名
-            String originalFilename = file.getOriginalFilename();
-            String extension = "";
-            if (originalFilename != null && originalFilename.contains(".")) {
-                extension = originalFilename.substring(originalFilename.lastIndexOf("."));
+            // 流式写入临时文件，同时计算摘要并识别类型
+            ReceivedFile received = receive(file);
+            try {
+                // 相同内容已上传过：直接返回已有文件
+                UploadedFile existing = uploadedFileMapper.selectByHash(received.sha256());
+                if (existing != null && Files.exists(Paths.get(uploadPath, existing.getSavedName()))) {
+                    return toResult(existing.getSavedName());
+                }
+                
+                // 优先使用文件头识别出的扩展名，无法识别时沿用原始文件名
+                String extension = received.type() != null
+                        ? received.type().extension()
+                        : originalExtension(file.getOriginalFilename());
+                
+                // 以内容摘要命名，相同内容只保存一份
+                String filename = received.sha256() + extension;
+                
+                // 原子移动到最终位置（并发上传相同内容时保留先到的一份）
+                Path filePath = Paths.get(uploadPath, filename);
+                if (!Files.exists(filePath)) {
+                    moveIntoPlace(received.tempFile(), filePath);
+                    System.out.println("[文件上传] 文件保存成功: " + filePath.toAbsolutePath()
+                            + " (" + received.size() + " bytes)");
+                    // 后台预生成缩略图
+                    imageDerivatives.pregenerate(filename);
+                }
+                
+                // 记录文件元数据
+                UploadedFile uploadedFile = new UploadedFile();
+                uploadedFile.setUserId(userId);
+                uploadedFile.setContentHash(received.sha256());
+                uploadedFile.setOriginalName(file.getOriginalFilename() != null ? file.getOriginalFilename() : filename);
+                uploadedFile.setSavedName(filename);
+                uploadedFile.setFilePath(filePath.toAbsolutePath().toString());
+                uploadedFile.setFileUrl(urlPrefix + filename);
+                uploadedFile.setFileSize(received.size());
+                uploadedFile.setFileType(received.type() != null ? received.type().mimeType() : file.getContentType());
+                if (received.type() != null && received.type().isImage()) {
+                    readDimensions(filePath, uploadedFile);
+                }
+                uploadedFileMapper.insertIgnore(uploadedFile);
+                
+                return toResult(filename);
+            } finally {
+                Files.deleteIfExists(received.tempFile());
             }
-            
-            // 生成唯一文件名
-            String filename = UUID.randomUUID().toString().replace("-", "") + extension;
-            
-            // 保存文件
-            Path filePath = Paths.get(uploadPath, filename);
-            Files.write(filePath, file.getBytes());
-            
-            System.out.println("[文件上传] 文件保存成功: " + filePath.toAbsolutePath());
-            
-            // 构建访问URL（返回相对路径，不包含/api前缀）
-            String fileUrl = "/files/" + filename;
-            
-            // 返回结果
-            Map<String, String> result = new HashMap<>();
-            result.put("url", fileUrl);
-            result.put("filename", filename);
-            
-            return result;
         } catch (IOException e) {
             throw new RuntimeException("文件上传失败: " + e.getMessage());
         }
     }
+    
+    /**
+     * 将上传内容以固定大小的缓冲区流式写入临时文件
+     *
+     * 写盘的同一趟中计算 SHA-256、统计大小并截取文件头，内存占用与文件大小无关。
+     */
+    private ReceivedFile receive(MultipartFile file) throws IOException {
+        Path tempDir = Paths.get(uploadPath, TEMP_DIR);
+        Files.createDirectories(tempDir);
+        Path tempFile = Files.createTempFile(tempDir, "upload-", ".part");
+        
+        MessageDigest digest = newSha256();
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        byte[] header = new byte[FileTypeUtil.HEADER_SIZE];
+        int headerLength = 0;
+        long size = 0;
+        
+        try (ReadableByteChannel in = Channels.newChannel(file.getInputStream());
+             FileChannel out = FileChannel.open(tempFile, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (in.read(buffer) != -1) {
+                buffer.flip();
+                if (headerLength < header.length) {
+                    int n = Math.min(header.length - headerLength, buffer.remaining());
+                    buffer.get(buffer.position(), header, headerLength, n);
+                    headerLength += n;
+                }
+                size += buffer.remaining();
+                digest.update(buffer.duplicate());
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+                buffer.clear();
+            }
+            out.force(false);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+        
+        return new ReceivedFile(tempFile, HexFormat.of().formatHex(digest.digest()), size,
+                FileTypeUtil.sniff(header, headerLength));
+    }
+    
+    /**
+     * 构建返回结果（返回相对路径，不包含/api前缀）
+     */
+    private Map<String, String> toResult(String filename) {
+        Map<String, String> result = new HashMap<>();
+        result.put("url", urlPrefix + filename);
+        result.put("filename", filename);
+        return result;
+    }
+    
+    /**
+     * 只读取图片头部获取宽高，不解码像素；格式不受支持时留空
+     */
+    private void readDimensions(Path filePath, UploadedFile uploadedFile) {
+        try (ImageInputStream input = ImageIO.createImageInputStream(filePath.toFile())) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+            if (readers == null || !readers.hasNext()) {
+                return;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                uploadedFile.setWidth(reader.getWidth(0));
+                uploadedFile.setHeight(reader.getHeight(0));
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            System.err.println("[文件上传] 读取图片尺寸失败: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * 原子移动临时文件，文件系统不支持时退化为普通移动
+     */
+    private void moveIntoPlace(Path source, Path target) throws IOException {
+        // createTempFile 建出的文件只有所有者可读（0600），移入前放开读权限，代理服务器才能直接读取
+        if (source.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            Files.setPosixFilePermissions(source, FILE_PERMISSIONS);
+        }
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+    
+    private static String originalExtension(String originalFilename) {
+        if (originalFilename != null && originalFilename.contains(".")) {
+            return originalFilename.substring(originalFilename.lastIndexOf("."));
+        }
+        return "";
+    }
+    
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    /**
+     * 已写入临时文件的上传内容
+     */
+    private record ReceivedFile(Path tempFile, String sha256, long size, FileTypeUtil.FileType type) {
+    }
 }
@@ -1,8 +1,11 @@
 package com.river.blog.service.impl;
 
+import com.river.blog.component.ContentVersions;
 import com.river.blog.entity.Project;
 import com.river.blog.mapper.ProjectMapper;
 import com.river.blog.service.ProjectService;
+import com.river.blog.util.HydrationUtil;
+import com.river.blog.util.TransactionUtil;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,19 +20,18 @@ import java.util.List;
 public class ProjectServiceImpl implements ProjectService {
     
     private final ProjectMapper projectMapper;
+    private final ContentVersions contentVersions;
     
-    public ProjectServiceImpl(ProjectMapper projectMapper) {
+    public ProjectServiceImpl(ProjectMapper projectMapper, ContentVersions contentVersions) {
         this.projectMapper = projectMapper;
+        this.contentVersions = contentVersions;
     }
     
     @Override
     public List<Project> getAllProjects() {
         List<Project> projects = projectMapper.selectAll();
-        // 查询每个项目的技术栈
-        for (Project project : projects) {
-            List<String> techStack = projectMapper.selectTechStackByProjectId(project.getId());
-            project.setTechStack(techStack);
-        }
+        // 批量查询所有项目的技术栈
+        HydrationUtil.hydrate(projects, Project::getId, projectMapper::selectTechStackByProjectIds, Project::setTechStack);
         return projects;
     }
     
@@ -51,6 +53,7 @@ public class ProjectServiceImpl implements ProjectService {
         
         // 保存技术栈
         saveTechStack(project.getId(), techStack);
+        TransactionUtil.runAfterCommit(contentVersions::projectsChanged);
         
         return getProjectById(project.getId());
     }
@@ -66,6 +69,7 @@ public class ProjectServiceImpl implements ProjectService {
         
         // 保存新技术栈
         saveTechStack(id, techStack);
+        TransactionUtil.runAfterCommit(contentVersions::projectsChanged);
         
         return getProjectById(id);
     }
@@ -77,6 +81,7 @@ public class ProjectServiceImpl implements ProjectService {
         projectMapper.deleteTechStack(id);
         // 删除项目
         projectMapper.deleteById(id);
+        TransactionUtil.runAfterCommit(contentVersions::projectsChanged);
     }
     
     /**
@@ -84,9 +89,8 @@ public class ProjectServiceImpl implements ProjectService {
      */
     private void saveTechStack(Long projectId, List<String> techStack) {
         if (techStack != null && !techStack.isEmpty()) {
-            for (String tech : techStack) {
-                projectMapper.insertTechStack(projectId, tech);
-            }
+            // 多行插入
+            projectMapper.insertTechStacks(projectId, techStack);
         }
     }
 }
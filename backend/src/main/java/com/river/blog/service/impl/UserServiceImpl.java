@@ -1,12 +1,13 @@
 package com.river.blog.service.impl;
 
+import com.river.blog.component.PasswordHasher;
+import com.river.blog.component.RateLimiter;
 import com.river.blog.dto.LoginRequest;
 import com.river.blog.dto.LoginResponse;
 import com.river.blog.entity.User;
 import com.river.blog.mapper.UserMapper;
 import com.river.blog.service.UserService;
 import com.river.blog.util.JwtUtil;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 /**
@@ -18,13 +19,16 @@ import org.springframework.stereotype.Service;
 public class UserServiceImpl implements UserService {
     
     private final UserMapper userMapper;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final JwtUtil jwtUtil;
+    private final RateLimiter rateLimiter;
     
-    public UserServiceImpl(UserMapper userMapper, PasswordEncoder passwordEncoder, JwtUtil jwtUtil) {
+    public UserServiceImpl(UserMapper userMapper, PasswordHasher passwordHasher, JwtUtil jwtUtil,
+                           RateLimiter rateLimiter) {
         this.userMapper = userMapper;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
         this.jwtUtil = jwtUtil;
+        this.rateLimiter = rateLimiter;
     }
     
     @Override
@@ -33,11 +37,13 @@ public class UserServiceImpl implements UserService {
         // 查询用户
         User user = userMapper.selectByUsername(request.getUsername());
         if (user == null) {
+            loginFailed(request.getUsername());
             throw new RuntimeException("用户不存在");
         }
 
-        // 验证密码
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        // 验证密码（在哈希线程池中执行，繁忙时抛出 PasswordHasher.BusyException）
+        if (!passwordHasher.matches(request.getPassword(), user.getPassword())) {
+            loginFailed(request.getUsername());
             throw new RuntimeException("密码错误");
         }
         
@@ -59,6 +65,15 @@ public class UserServiceImpl implements UserService {
         return response;
     }
     
+    /**
+     * 登录失败时扣减该账号的失败配额（成功登录不计数）
+     */
+    private void loginFailed(String username) {
+        if (username != null && !username.isBlank()) {
+            rateLimiter.tryAcquire(RateLimiter.LOGIN_ACCOUNT, RateLimiter.account(username));
+        }
+    }
+    
     @Override
     public LoginResponse register(LoginRequest request) {
         // 验证用户名是否已存在
@@ -70,7 +85,7 @@ public class UserServiceImpl implements UserService {
         // 创建用户
         User user = new User();
         user.setUsername(request.getUsername());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(passwordHasher.encode(request.getPassword()));
         user.setNickname(request.getNickname());
         user.setAvatar(request.getAvatar());
         user.setEmail(request.getEmail());
@@ -109,7 +124,7 @@ public class UserServiceImpl implements UserService {
     @Override
     public User createUser(User user) {
         // 加密密码
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
+        user.setPassword(passwordHasher.encode(user.getPassword()));
         userMapper.insert(user);
         return user;
     }
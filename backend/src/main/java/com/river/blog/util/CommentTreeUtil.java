@@ -0,0 +1,55 @@
+package com.river.blog.util;
+
+import com.river.blog.entity.BlogComment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 评论树组装工具类
+ * 
+ * @author River
+ */
+public final class CommentTreeUtil {
+    
+    private CommentTreeUtil() {
+    }
+    
+    /**
+     * 按 parent_id 把扁平评论组装成树，O(n)
+     * 
+     * @param comments 按 created_at 降序排列的评论
+     * @return 顶层评论（新的在前），回复按时间正序挂在 replies 下；父评论不存在的回复作为顶层返回
+     */
+    public static List<BlogComment> build(List<BlogComment> comments) {
+        LongObjectMap<BlogComment> byId = new LongObjectMap<>(comments.size());
+        for (BlogComment comment : comments) {
+            comment.setReplies(null);
+            comment.setReplyCount(0);
+            byId.put(comment.getId(), comment);
+        }
+        
+        // 倒序遍历，子回复按时间正序追加
+        List<BlogComment> roots = new ArrayList<>();
+        for (int i = comments.size() - 1; i >= 0; i--) {
+            BlogComment comment = comments.get(i);
+            BlogComment parent = comment.getParentId() != null ? byId.get(comment.getParentId()) : null;
+            if (parent == null) {
+                roots.add(comment);
+            } else {
+                if (parent.getReplies() == null) {
+                    parent.setReplies(new ArrayList<>());
+                }
+                parent.getReplies().add(comment);
+                parent.setReplyCount(parent.getReplyCount() + 1);
+            }
+        }
+        
+        // 顶层恢复为新的在前
+        List<BlogComment> result = new ArrayList<>(roots.size());
+        for (int i = roots.size() - 1; i >= 0; i--) {
+            result.add(roots.get(i));
+        }
+        return result;
+    }
+}
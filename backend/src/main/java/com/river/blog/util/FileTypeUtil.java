@@ -0,0 +1,88 @@
+package com.river.blog.util;
+
+/**
+ * 文件类型识别工具类
+ *
+ * 根据文件头（魔数）判断真实类型，不信任客户端提供的文件名和 Content-Type。
+ *
+ * @author River
+ */
+public final class FileTypeUtil {
+
+    /**
+     * 识别所需的文件头字节数
+     */
+    public static final int HEADER_SIZE = 16;
+
+    /**
+     * 识别结果
+     *
+     * @param mimeType  MIME 类型
+     * @param extension 扩展名（含点）
+     */
+    public record FileType(String mimeType, String extension) {
+
+        public boolean isImage() {
+            return mimeType.startsWith("image/");
+        }
+    }
+
+    public static final FileType JPEG = new FileType("image/jpeg", ".jpg");
+    public static final FileType PNG = new FileType("image/png", ".png");
+    public static final FileType GIF = new FileType("image/gif", ".gif");
+    public static final FileType WEBP = new FileType("image/webp", ".webp");
+    public static final FileType BMP = new FileType("image/bmp", ".bmp");
+    public static final FileType ICO = new FileType("image/x-icon", ".ico");
+    public static final FileType PDF = new FileType("application/pdf", ".pdf");
+    public static final FileType ZIP = new FileType("application/zip", ".zip");
+
+    private FileTypeUtil() {
+    }
+
+    /**
+     * 根据文件头识别类型，无法识别时返回null
+     *
+     * @param header 文件开头的字节
+     * @param length 有效字节数
+     */
+    public static FileType sniff(byte[] header, int length) {
+        if (startsWith(header, length, 0xFF, 0xD8, 0xFF)) {
+            return JPEG;
+        }
+        if (startsWith(header, length, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) {
+            return PNG;
+        }
+        if (startsWith(header, length, 'G', 'I', 'F', '8')) {
+            return GIF;
+        }
+        if (startsWith(header, length, 'R', 'I', 'F', 'F') && length >= 12
+                && header[8] == 'W' && header[9] == 'E' && header[10] == 'B' && header[11] == 'P') {
+            return WEBP;
+        }
+        if (startsWith(header, length, 'B', 'M')) {
+            return BMP;
+        }
+        if (startsWith(header, length, 0x00, 0x00, 0x01, 0x00)) {
+            return ICO;
+        }
+        if (startsWith(header, length, '%', 'P', 'D', 'F')) {
+            return PDF;
+        }
+        if (startsWith(header, length, 'P', 'K', 0x03, 0x04)) {
+            return ZIP;
+        }
+        return null;
+    }
+
+    private static boolean startsWith(byte[] header, int length, int... magic) {
+        if (length < magic.length) {
+            return false;
+        }
+        for (int i = 0; i < magic.length; i++) {
+            if ((header[i] & 0xFF) != magic[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
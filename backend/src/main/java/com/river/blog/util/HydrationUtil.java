@@ -0,0 +1,69 @@
+package com.river.blog.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * 关联数据批量填充工具类
+ *
+ * 用一次 IN 查询取回整页数据的关联行，再按所属ID分组回填，避免逐条查询（N+1）。
+ * 关联查询需返回 ownerId / item 两列。
+ *
+ * @author River
+ */
+public final class HydrationUtil {
+
+    public static final String OWNER_ID = "ownerId";
+    public static final String ITEM = "item";
+
+    private HydrationUtil() {
+    }
+
+    /**
+     * 批量填充关联列表
+     *
+     * @param items    待填充的对象
+     * @param idGetter 取对象ID
+     * @param loader   按ID集合批量查询关联行
+     * @param setter   回填关联列表（无关联时为空列表）
+     */
+    public static <T> void hydrate(List<T> items,
+                                   Function<T, Long> idGetter,
+                                   Function<List<Long>, List<Map<String, Object>>> loader,
+                                   BiConsumer<T, List<String>> setter) {
+        if (items == null || items.isEmpty()) {
+            return;
+        }
+
+        List<Long> ids = new ArrayList<>(items.size());
+        for (T item : items) {
+            ids.add(idGetter.apply(item));
+        }
+
+        Map<Long, List<String>> grouped = groupByOwner(loader.apply(ids));
+        for (T item : items) {
+            List<String> values = grouped.get(idGetter.apply(item));
+            setter.accept(item, values != null ? values : new ArrayList<>());
+        }
+    }
+
+    /**
+     * 按所属ID分组（保持查询返回的顺序）
+     */
+    public static Map<Long, List<String>> groupByOwner(List<Map<String, Object>> rows) {
+        if (rows == null || rows.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<Long, List<String>> grouped = new HashMap<>();
+        for (Map<String, Object> row : rows) {
+            Long ownerId = ((Number) row.get(OWNER_ID)).longValue();
+            grouped.computeIfAbsent(ownerId, k -> new ArrayList<>()).add((String) row.get(ITEM));
+        }
+        return grouped;
+    }
+}
@@ -1,16 +1,25 @@
 package com.river.blog.util;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * JWT工具类
@@ -26,6 +35,52 @@ public class JwtUtil {
     @Value("${jwt.expiration}")
     private Long expiration;
     
+    @Value("${jwt.verified-cache-size:10000}")
+    private long verifiedCacheSize;
+    
+    /**
+     * 签名密钥与解析器只构建一次（JwtParser 线程安全）
+     */
+    private SecretKey key;
+    private JwtParser parser;
+    
+    /**
+     * 已验证token缓存（key 为 token 的 SHA-256，过期时间与 token 的 exp 一致）
+     */
+    private Cache<String, JwtPrincipal> verifiedTokens;
+    
+    /**
+     * token 中携带的用户信息
+     */
+    public record JwtPrincipal(Long userId, String username, String role, long expiresAt) {
+    }
+    
+    @PostConstruct
+    public void init() {
+        key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser().verifyWith(key).build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(new Expiry<String, JwtPrincipal>() {
+                    @Override
+                    public long expireAfterCreate(String k, JwtPrincipal principal, long currentTime) {
+                        long remainingMs = principal.expiresAt() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMs, 0));
+                    }
+                    
+                    @Override
+                    public long expireAfterUpdate(String k, JwtPrincipal principal, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                    
+                    @Override
+                    public long expireAfterRead(String k, JwtPrincipal principal, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+    
     /**
      * 生成JWT token
      */
@@ -44,8 +99,6 @@ public class JwtUtil {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expiration);
         
-        SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
-        
         return Jwts.builder()
                 .claims(claims)
                 .subject(subject)
@@ -55,6 +108,29 @@ public class JwtUtil {
                 .compact();
     }
     
+    /**
+     * 验证token并返回用户信息，无效或过期时返回null
+     * 最近验证过的token直接命中缓存，不再做签名校验
+     */
+    public JwtPrincipal verify(String token) {
+        String cacheKey = hash(token);
+        JwtPrincipal principal = verifiedTokens.getIfPresent(cacheKey);
+        if (principal == null) {
+            try {
+                Claims claims = getClaimFromToken(token);
+                principal = new JwtPrincipal(
+                        ((Number) claims.get("userId")).longValue(),
+                        claims.getSubject(),
+                        (String) claims.get("role"),
+                        claims.getExpiration().getTime());
+            } catch (Exception e) {
+                return null;
+            }
+            verifiedTokens.put(cacheKey, principal);
+        }
+        return principal.expiresAt() > System.currentTimeMillis() ? principal : null;
+    }
+    
     /**
      * 从token中获取用户名
      */
@@ -88,12 +164,7 @@ public class JwtUtil {
      * 解析token
      */
     private Claims getClaimFromToken(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
     
     /**
@@ -112,10 +183,18 @@ public class JwtUtil {
      * 验证token
      */
     public Boolean validateToken(String token) {
+        return verify(token) != null;
+    }
+    
+    /**
+     * 计算token的SHA-256摘要，作为缓存key
+     */
+    private static String hash(String token) {
         try {
-            return !isTokenExpired(token);
-        } catch (Exception e) {
-            return false;
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
         }
     }
 }
@@ -0,0 +1,83 @@
+package com.river.blog.util;
+
+import java.util.Arrays;
+
+/**
+ * 以 long 为键的开放寻址哈希表
+ * 
+ * 键直接存放在 long[] 中，不装箱为 Long；用于按ID大量查找的场景。
+ * 键必须大于0（0 用作空槽标记），非线程安全。
+ * 
+ * @author River
+ */
+public class LongObjectMap<V> {
+    
+    private long[] keys;
+    private Object[] values;
+    private int size;
+    private int mask;
+    
+    public LongObjectMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(expectedSize, 4) * 2 - 1) << 1;
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+    }
+    
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        int index = indexOf(key);
+        return keys[index] == key ? (V) values[index] : null;
+    }
+    
+    public void put(long key, V value) {
+        if (key <= 0) {
+            throw new IllegalArgumentException("key must be positive: " + key);
+        }
+        int index = indexOf(key);
+        if (keys[index] != key) {
+            keys[index] = key;
+            size++;
+        }
+        values[index] = value;
+        if (size * 2 > keys.length) {
+            resize();
+        }
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * 线性探测：返回键所在的槽，或应当插入的空槽
+     */
+    private int indexOf(long key) {
+        int index = mix(key) & mask;
+        while (keys[index] != 0 && keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+    
+    private void resize() {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new Object[oldValues.length * 2];
+        mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int index = indexOf(oldKeys[i]);
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+        Arrays.fill(oldValues, null);
+    }
+    
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,31 @@
+package com.river.blog.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 事务工具类
+ * 
+ * @author River
+ */
+public final class TransactionUtil {
+    
+    private TransactionUtil() {
+    }
+    
+    /**
+     * 在当前事务提交后执行；没有事务时立即执行
+     */
+    public static void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
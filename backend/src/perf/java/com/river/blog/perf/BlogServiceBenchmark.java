@@ -0,0 +1,75 @@
+package com.river.blog.perf;
+
+import com.river.blog.component.PostDetailCache;
+import com.river.blog.entity.BlogPost;
+import com.river.blog.service.BlogPostService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 博客列表与详情（H2 内存库）
+ *
+ * @author River
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BlogServiceBenchmark {
+
+    private static final Long POST_ID = 1L;
+
+    private BlogPostService blogPostService;
+
+    private PostDetailCache postDetailCache;
+
+    @Setup
+    public void setUp() {
+        blogPostService = PerfContext.getBean(BlogPostService.class);
+        postDetailCache = PerfContext.getBean(PostDetailCache.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        PerfContext.close();
+    }
+
+    /**
+     * 第一页列表（摘要 + 标签 + 图片批量填充 + 总数）
+     */
+    @Benchmark
+    public Map<String, Object> getBlogList() {
+        return blogPostService.getBlogList("published", 1, 10);
+    }
+
+    /**
+     * 详情命中缓存
+     */
+    @Benchmark
+    public BlogPost getBlogByIdCached() {
+        return blogPostService.getBlogById(POST_ID);
+    }
+
+    /**
+     * 详情回源（每次先清掉缓存，测量查询与填充）
+     */
+    @Benchmark
+    public BlogPost getBlogByIdUncached() {
+        postDetailCache.invalidate(POST_ID);
+        return blogPostService.getBlogById(POST_ID);
+    }
+}
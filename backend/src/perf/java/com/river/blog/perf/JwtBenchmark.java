@@ -0,0 +1,66 @@
+package com.river.blog.perf;
+
+import com.river.blog.util.JwtUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT 签发与校验
+ *
+ * @author River
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtUtil jwtUtil;
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = PerfContext.getBean(JwtUtil.class);
+        token = jwtUtil.generateToken(1L, "admin", "admin");
+    }
+
+    @TearDown
+    public void tearDown() {
+        PerfContext.close();
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(1L, "admin", "admin");
+    }
+
+    /**
+     * 命中已验证token缓存
+     */
+    @Benchmark
+    public JwtUtil.JwtPrincipal verifyCached() {
+        return jwtUtil.verify(token);
+    }
+
+    /**
+     * 完整解析与签名校验（不经过缓存）
+     */
+    @Benchmark
+    public Long verifySignature() {
+        return jwtUtil.getUserIdFromToken(token);
+    }
+}
@@ -0,0 +1,101 @@
+package com.river.blog.perf;
+
+import com.river.blog.filter.JwtAuthenticationFilter;
+import com.river.blog.util.JwtUtil;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT 认证过滤器的单次请求开销
+ *
+ * @author River
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    private static final FilterChain NOOP_CHAIN = (request, response) -> { };
+
+    private JwtAuthenticationFilter filter;
+
+    private MockHttpServletRequest authenticated;
+
+    private MockHttpServletRequest anonymous;
+
+    private MockHttpServletRequest publicGet;
+
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Setup
+    public void setUp() {
+        filter = PerfContext.getBean(JwtAuthenticationFilter.class);
+        String token = PerfContext.getBean(JwtUtil.class).generateToken(1L, "admin", "admin");
+
+        authenticated = request("POST", "/blogs");
+        authenticated.addHeader("Authorization", "Bearer " + token);
+        anonymous = request("POST", "/blogs");
+        publicGet = request("GET", "/blogs");
+    }
+
+    @TearDown
+    public void tearDown() {
+        PerfContext.close();
+    }
+
+    /**
+     * 带token的受保护请求（命中已验证token缓存）
+     */
+    @Benchmark
+    public Object authenticatedRequest() throws Exception {
+        return doFilter(authenticated);
+    }
+
+    /**
+     * 不带token的请求
+     */
+    @Benchmark
+    public Object anonymousRequest() throws Exception {
+        return doFilter(anonymous);
+    }
+
+    /**
+     * 公开GET接口（跳过token解析）
+     */
+    @Benchmark
+    public Object publicGetRequest() throws Exception {
+        return doFilter(publicGet);
+    }
+
+    private Object doFilter(MockHttpServletRequest request) throws Exception {
+        filter.doFilter(request, response, NOOP_CHAIN);
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+    private static MockHttpServletRequest request(String method, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api" + path);
+        request.setContextPath("/api");
+        request.setServletPath(path);
+        return request;
+    }
+}
@@ -0,0 +1,323 @@
+package com.river.blog.perf;
+
+import com.river.blog.service.FileService;
+import com.river.blog.util.JwtUtil;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 接口压测场景
+ *
+ * 启动应用（见 {@link PerfContext}），用虚拟线程客户端按固定权重混合读写请求（热门博客按幂律倾斜），
+ * 预热后按路由统计吞吐与 p50/p99/p999，结果打印并写入 bench/results/load-{时间}.json。
+ *
+ * 运行：mvn -Pperf test-compile exec:exec@load-test -Dload.args="--concurrency 200 --duration 60"
+ * 参数：--concurrency 并发客户端数（200）、--warmup 预热秒数（10）、--duration 统计秒数（30）、--seed 随机种子（42）、
+ * --routes 只压指定路由（逗号分隔的枚举名，默认全部）、--file-serve-direct /files 是否由过滤器直接响应（true）
+ *
+ * 对比上传文件的两种访问方式：分别以 --file-serve-direct true / false 运行 --routes FILE,FILE_VARIANT
+ *
+ * @author River
+ */
+public final class LoadTest {
+
+    /**
+     * 压测路由与权重（合计 100）
+     */
+    private enum Route {
+        BLOG_LIST("GET /blogs", 30),
+        BLOG_PAGE("GET /blogs?page=N", 10),
+        BLOG_DETAIL("GET /blogs/{id}", 30),
+        COMMENTS("GET /blogs/{postId}/comments", 10),
+        FILE("GET /files/*", 10),
+        FILE_VARIANT("GET /files/*?w=320", 5),
+        COMMENT_CREATE("POST /blogs/{postId}/comments", 5);
+
+        private final String label;
+        private final int weight;
+
+        Route(String label, int weight) {
+            this.label = label;
+            this.weight = weight;
+        }
+    }
+
+    private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private static final byte[] SUCCESS_PREFIX = "{\"code\":200".getBytes(StandardCharsets.UTF_8);
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int concurrency = Integer.parseInt(options.get("concurrency"));
+        int warmupSeconds = Integer.parseInt(options.get("warmup"));
+        int durationSeconds = Integer.parseInt(options.get("duration"));
+        long seed = Long.parseLong(options.get("seed"));
+        Route[] table = weightTable(options.get("routes"));
+
+        // 须在应用启动前设置（系统属性优先于配置文件）
+        System.setProperty("file.serve.direct", options.get("file-serve-direct"));
+        String base = "http://localhost:" + PerfContext.port() + "/api";
+        String token = PerfContext.getBean(JwtUtil.class).generateToken(1L, "admin", "admin");
+        List<String> files = uploadImages(PerfContext.getBean(FileService.class), 3);
+        List<Long> postIds = publishedPostIds();
+
+        Map<Route, ConcurrentHistogram> histograms = new LinkedHashMap<>();
+        Map<Route, LongAdder> errors = new LinkedHashMap<>();
+        for (Route route : new LinkedHashSet<>(Arrays.asList(table))) {
+            histograms.put(route, new ConcurrentHistogram(1, MAX_TRACKABLE_MICROS, 3));
+            errors.put(route, new LongAdder());
+        }
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        System.out.printf("Load test: %d clients, %ds warmup, %ds measured, seed %d, file.serve.direct=%s%n",
+                concurrency, warmupSeconds, durationSeconds, seed, options.get("file-serve-direct"));
+        long warmupEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long end = warmupEnd + TimeUnit.SECONDS.toNanos(durationSeconds);
+        CountDownLatch done = new CountDownLatch(concurrency);
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < concurrency; c++) {
+                SplittableRandom random = new SplittableRandom(seed + c);
+                clients.execute(() -> {
+                    try {
+                        while (true) {
+                            long start = System.nanoTime();
+                            if (start >= end) {
+                                break;
+                            }
+                            Route route = table[random.nextInt(table.length)];
+                            boolean ok = send(client, request(route, base, token, postIds, files, random));
+                            long elapsed = System.nanoTime() - start;
+                            if (start < warmupEnd) {
+                                continue;
+                            }
+                            histograms.get(route).recordValue(
+                                    Math.max(1, Math.min(MAX_TRACKABLE_MICROS, TimeUnit.NANOSECONDS.toMicros(elapsed))));
+                            if (!ok) {
+                                errors.get(route).increment();
+                            }
+                        }
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+            done.await();
+        }
+
+        report(histograms, errors, options, durationSeconds);
+        PerfContext.close();
+        System.exit(0);
+    }
+
+    private static HttpRequest request(Route route, String base, String token, List<Long> postIds,
+                                       List<String> files, SplittableRandom random) {
+        Long postId = hotPost(postIds, random);
+        HttpRequest.Builder builder = switch (route) {
+            case BLOG_LIST -> HttpRequest.newBuilder(URI.create(base + "/blogs?page=1&size=10"));
+            case BLOG_PAGE -> HttpRequest.newBuilder(URI.create(base + "/blogs?page="
+                    + (2 + random.nextInt(Math.max(1, postIds.size() / 10 - 1))) + "&size=10"));
+            case BLOG_DETAIL -> HttpRequest.newBuilder(URI.create(base + "/blogs/" + postId));
+            case COMMENTS -> HttpRequest.newBuilder(URI.create(base + "/blogs/" + postId + "/comments"))
+                    .header("Authorization", "Bearer " + token);
+            case FILE -> HttpRequest.newBuilder(URI.create(base + "/files/" + files.get(random.nextInt(files.size()))));
+            case FILE_VARIANT -> HttpRequest.newBuilder(URI.create(base + "/files/"
+                    + files.get(random.nextInt(files.size())) + "?w=320"));
+            case COMMENT_CREATE -> HttpRequest.newBuilder(URI.create(base + "/blogs/" + postId + "/comments"))
+                    .header("Authorization", "Bearer " + token)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"content\":\"load test comment\"}"));
+        };
+        return builder.timeout(Duration.ofSeconds(30)).build();
+    }
+
+    /**
+     * 幂律倾斜：少数靠前的博客承担大部分访问
+     */
+    private static Long hotPost(List<Long> postIds, SplittableRandom random) {
+        double u = random.nextDouble();
+        return postIds.get((int) (u * u * u * postIds.size()));
+    }
+
+    /**
+     * 2xx/304 且 JSON 响应的 code 为 200 才算成功（业务错误也以 HTTP 200 返回）
+     */
+    private static boolean send(HttpClient client, HttpRequest request) {
+        try {
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            int status = response.statusCode();
+            if (status == 304) {
+                return true;
+            }
+            if (status < 200 || status >= 300) {
+                return false;
+            }
+            boolean json = response.headers().firstValue("Content-Type").orElse("").startsWith("application/json");
+            return !json || startsWith(response.body(), SUCCESS_PREFIX);
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static boolean startsWith(byte[] body, byte[] prefix) {
+        if (body.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (body[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Route[] weightTable(String routes) {
+        List<Route> selected = routes == null || routes.isBlank() ? Arrays.asList(Route.values())
+                : Arrays.stream(routes.split(",")).map(name -> Route.valueOf(name.trim())).toList();
+        List<Route> table = new ArrayList<>(100);
+        for (Route route : selected) {
+            for (int i = 0; i < route.weight; i++) {
+                table.add(route);
+            }
+        }
+        return table.toArray(new Route[0]);
+    }
+
+    private static List<Long> publishedPostIds() {
+        return PerfContext.getBean(JdbcTemplate.class).queryForList(
+                "SELECT id FROM blog_posts WHERE status = 'published' ORDER BY id", Long.class);
+    }
+
+    /**
+     * 生成几张封面尺寸的图片并走正常上传流程
+     */
+    private static List<String> uploadImages(FileService fileService, int count) throws IOException {
+        List<String> names = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            BufferedImage image = new BufferedImage(1600, 900, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = image.createGraphics();
+            graphics.setColor(new Color(40 * i, 120, 200));
+            graphics.fillRect(0, 0, 1600, 900);
+            graphics.setColor(Color.WHITE);
+            graphics.fillOval(200 + 300 * i, 200, 400, 400);
+            graphics.dispose();
+
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            ImageIO.write(image, "jpg", output);
+            Map<String, String> result = fileService.uploadFile(
+                    new MockMultipartFile("file", "cover-" + i + ".jpg", "image/jpeg", output.toByteArray()), 1L);
+            names.add(result.get("filename"));
+        }
+        return names;
+    }
+
+    private static void report(Map<Route, ConcurrentHistogram> histograms, Map<Route, LongAdder> errors,
+                               Map<String, String> options, int durationSeconds) throws IOException {
+        StringBuilder json = new StringBuilder();
+        json.append("{\n  \"concurrency\": ").append(options.get("concurrency"))
+                .append(",\n  \"warmupSeconds\": ").append(options.get("warmup"))
+                .append(",\n  \"durationSeconds\": ").append(durationSeconds)
+                .append(",\n  \"seed\": ").append(options.get("seed"))
+                .append(",\n  \"fileServeDirect\": ").append(options.get("file-serve-direct"))
+                .append(",\n  \"routes\": [\n");
+
+        System.out.printf("%n%-32s %10s %8s %10s %9s %9s %9s %9s%n",
+                "Route", "Requests", "Errors", "Req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        ConcurrentHistogram total = new ConcurrentHistogram(1, MAX_TRACKABLE_MICROS, 3);
+        long totalErrors = 0;
+        int index = 0;
+        for (Map.Entry<Route, ConcurrentHistogram> entry : histograms.entrySet()) {
+            ConcurrentHistogram histogram = entry.getValue();
+            long errorCount = errors.get(entry.getKey()).sum();
+            total.add(histogram);
+            totalErrors += errorCount;
+            printRow(entry.getKey().label, histogram, errorCount, durationSeconds);
+            json.append(index++ > 0 ? ",\n" : "").append("    ")
+                    .append(toJson(entry.getKey().label, histogram, errorCount, durationSeconds));
+        }
+        printRow("TOTAL", total, totalErrors, durationSeconds);
+        json.append("\n  ],\n  \"total\": ").append(toJson("TOTAL", total, totalErrors, durationSeconds)).append("\n}\n");
+
+        Path output = Paths.get(options.getOrDefault("output", "bench/results/load-"
+                + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json"));
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        Files.writeString(output, json.toString());
+        System.out.println("\nResult saved to " + output.toAbsolutePath());
+    }
+
+    private static void printRow(String label, ConcurrentHistogram histogram, long errorCount, int durationSeconds) {
+        System.out.printf(Locale.ROOT, "%-32s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                label, histogram.getTotalCount(), errorCount, (double) histogram.getTotalCount() / durationSeconds,
+                millis(histogram, 50), millis(histogram, 99), millis(histogram, 99.9), histogram.getMaxValue() / 1000.0);
+    }
+
+    private static String toJson(String label, ConcurrentHistogram histogram, long errorCount, int durationSeconds) {
+        return String.format(Locale.ROOT,
+                "{\"route\": \"%s\", \"requests\": %d, \"errors\": %d, \"rps\": %.1f, "
+                        + "\"p50Ms\": %.3f, \"p99Ms\": %.3f, \"p999Ms\": %.3f, \"maxMs\": %.3f}",
+                label, histogram.getTotalCount(), errorCount, (double) histogram.getTotalCount() / durationSeconds,
+                millis(histogram, 50), millis(histogram, 99), millis(histogram, 99.9), histogram.getMaxValue() / 1000.0);
+    }
+
+    private static double millis(ConcurrentHistogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        options.put("concurrency", "200");
+        options.put("warmup", "10");
+        options.put("duration", "30");
+        options.put("seed", "42");
+        options.put("file-serve-direct", "true");
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (args[i].startsWith("--")) {
+                options.put(args[i].substring(2), args[i + 1]);
+            }
+        }
+        return options;
+    }
+}
@@ -0,0 +1,104 @@
+package com.river.blog.perf;
+
+import com.river.blog.RiverBlogApplication;
+import com.river.blog.entity.BlogComment;
+import com.river.blog.entity.BlogPost;
+import com.river.blog.service.BlogCommentService;
+import com.river.blog.service.BlogPostService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * 基准与压测共用的应用上下文
+ *
+ * 每个 JVM 内只启动一次（perf 配置、随机端口）：先把 sql/schema.sql 与 sql/init-data.sql
+ * 装入 H2 内存库（MySQL 兼容模式），启动后再写入一批固定的博客和评论。
+ *
+ * @author River
+ */
+public final class PerfContext {
+
+    /**
+     * 预置博客数，每 10 篇中有 1 篇草稿
+     */
+    public static final int POSTS = 200;
+
+    /**
+     * 每篇博客的预置评论数
+     */
+    public static final int COMMENTS_PER_POST = 5;
+
+    private static final String DATABASE_URL = "jdbc:h2:mem:river_blog;MODE=MySQL;DATABASE_TO_UPPER=FALSE;"
+            + "CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+
+    private static ConfigurableApplicationContext context;
+
+    private PerfContext() {
+    }
+
+    public static synchronized ConfigurableApplicationContext get() {
+        if (context == null) {
+            Path sqlDir = Paths.get(System.getProperty("perf.sql-dir", "sql"));
+            try {
+                PerfDatabase.load(DATABASE_URL, "sa", "",
+                        sqlDir.resolve("schema.sql"), sqlDir.resolve("init-data.sql"));
+            } catch (IOException | SQLException e) {
+                throw new IllegalStateException("Failed to load " + sqlDir.toAbsolutePath(), e);
+            }
+
+            System.setProperty("spring.devtools.restart.enabled", "false");
+            context = new SpringApplicationBuilder(RiverBlogApplication.class)
+                    .run("--spring.profiles.active=perf", "--server.port=0",
+                            "--spring.datasource.url=" + DATABASE_URL);
+            seed(context.getBean(BlogPostService.class), context.getBean(BlogCommentService.class));
+        }
+        return context;
+    }
+
+    public static <T> T getBean(Class<T> type) {
+        return get().getBean(type);
+    }
+
+    public static synchronized void close() {
+        if (context != null) {
+            context.close();
+            context = null;
+        }
+    }
+
+    /**
+     * 应用实际监听的端口
+     */
+    public static int port() {
+        return Integer.parseInt(get().getEnvironment().getProperty("local.server.port"));
+    }
+
+    private static void seed(BlogPostService blogPostService, BlogCommentService blogCommentService) {
+        String paragraph = "River Blog 性能基准数据，用于测量列表与详情的查询和填充开销。".repeat(40);
+        for (int i = 1; i <= POSTS; i++) {
+            BlogPost post = new BlogPost();
+            post.setUserId(1L);
+            post.setTitle("Benchmark post " + i);
+            post.setExcerpt("Excerpt of benchmark post " + i);
+            post.setContent(paragraph);
+            post.setCover("/files/cover-" + i + ".jpg");
+            post.setStatus(i % 10 == 0 ? "draft" : "published");
+            post.setContentImages(List.of("/files/image-" + i + "-1.jpg", "/files/image-" + i + "-2.jpg"));
+            BlogPost created = blogPostService.createBlog(post, List.of("Java", "tag-" + (i % 20), "topic-" + (i % 7)));
+
+            for (int c = 1; c <= COMMENTS_PER_POST; c++) {
+                BlogComment comment = new BlogComment();
+                comment.setPostId(created.getId());
+                comment.setUserId(1L);
+                comment.setContent("Comment " + c + " on post " + i);
+                blogCommentService.createComment(comment);
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.river.blog.perf;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 把 sql/schema.sql、sql/init-data.sql 装入 H2（MODE=MySQL）
+ *
+ * 直接复用 MySQL 脚本，只做两处改写：去掉 CREATE DATABASE / USE；
+ * H2 的索引名在整个库内唯一，给 KEY 名加表名前缀。
+ *
+ * @author River
+ */
+public final class PerfDatabase {
+
+    private static final Pattern CREATE_TABLE = Pattern.compile("CREATE TABLE `(\\w+)`");
+
+    private static final Pattern KEY_NAME = Pattern.compile("(KEY|INDEX) `(\\w+)`");
+
+    private PerfDatabase() {
+    }
+
+    /**
+     * 执行脚本（连接使用 DB_CLOSE_DELAY=-1 的内存库，关闭连接后数据仍在）
+     */
+    public static void load(String url, String username, String password, Path... scripts)
+            throws IOException, SQLException {
+        try (Connection connection = DriverManager.getConnection(url, username, password);
+             Statement statement = connection.createStatement()) {
+            for (Path script : scripts) {
+                for (String sql : split(Files.readString(script, StandardCharsets.UTF_8))) {
+                    statement.execute(sql);
+                }
+            }
+        }
+    }
+
+    private static List<String> split(String script) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        String table = null;
+        for (String line : script.split("\\r?\\n")) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("--")
+                    || trimmed.startsWith("CREATE DATABASE") || trimmed.startsWith("USE ")) {
+                continue;
+            }
+            Matcher create = CREATE_TABLE.matcher(line);
+            if (create.find()) {
+                table = create.group(1);
+            }
+            if (table != null) {
+                line = KEY_NAME.matcher(line).replaceAll("$1 `" + table + "_$2`");
+            }
+            current.append(line).append('\n');
+            if (trimmed.endsWith(";")) {
+                String sql = current.toString().trim();
+                statements.add(sql.substring(0, sql.length() - 1));
+                current.setLength(0);
+                table = null;
+            }
+        }
+        return statements;
+    }
+}
@@ -0,0 +1,63 @@
+package com.river.blog.perf;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.river.blog.common.Result;
+import com.river.blog.entity.BlogPost;
+import com.river.blog.service.BlogPostService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Result + Jackson 序列化（使用应用配置的 ObjectMapper）
+ *
+ * @author River
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+
+    private Map<String, Object> listPage;
+
+    private BlogPost detail;
+
+    @Setup
+    public void setUp() {
+        objectMapper = PerfContext.getBean(ObjectMapper.class);
+        BlogPostService blogPostService = PerfContext.getBean(BlogPostService.class);
+        listPage = blogPostService.getBlogList("published", 1, 10);
+        detail = blogPostService.getBlogById(1L);
+    }
+
+    @TearDown
+    public void tearDown() {
+        PerfContext.close();
+    }
+
+    @Benchmark
+    public byte[] serializeListPage() throws Exception {
+        return objectMapper.writeValueAsBytes(Result.success(listPage));
+    }
+
+    @Benchmark
+    public byte[] serializeDetail() throws Exception {
+        return objectMapper.writeValueAsBytes(Result.success(detail));
+    }
+}
@@ -0,0 +1,115 @@
+package com.river.blog.perf;
+
+import com.river.blog.service.FileService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 文件上传（流式写盘 + SHA-256 + 去重查询）
+ *
+ * @author River
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class UploadBenchmark {
+
+    private static final int FILE_SIZE = 256 * 1024;
+
+    /**
+     * 每轮上传新内容的次数（新内容会落盘，按轮次清理）
+     */
+    private static final int NEW_UPLOAD_BATCH = 200;
+
+    private FileService fileService;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private Path uploadDir;
+
+    private byte[] content;
+
+    private MockMultipartFile duplicate;
+
+    private long sequence;
+
+    @Setup
+    public void setUp() {
+        fileService = PerfContext.getBean(FileService.class);
+        jdbcTemplate = PerfContext.getBean(JdbcTemplate.class);
+        uploadDir = Paths.get(PerfContext.get().getEnvironment().getProperty("file.upload.path"));
+
+        content = new byte[FILE_SIZE];
+        new Random(42).nextBytes(content);
+        duplicate = new MockMultipartFile("file", "duplicate.bin", "application/octet-stream", content);
+        fileService.uploadFile(duplicate, 1L);
+    }
+
+    @TearDown
+    public void tearDown() {
+        PerfContext.close();
+    }
+
+    /**
+     * 清理本轮新写入的文件与记录（保留重复上传用的那一份）
+     */
+    @TearDown(Level.Iteration)
+    public void cleanUp() throws IOException {
+        Map<String, Object> kept = jdbcTemplate.queryForMap(
+                "SELECT id, saved_name FROM uploaded_files ORDER BY id LIMIT 1");
+        jdbcTemplate.update("DELETE FROM uploaded_files WHERE id <> ?", kept.get("id"));
+        try (Stream<Path> files = Files.list(uploadDir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (Files.isRegularFile(file) && !file.getFileName().toString().equals(kept.get("saved_name"))) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    /**
+     * 重复内容：流式写临时文件、计算摘要、命中去重后丢弃
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public Map<String, String> uploadDuplicate() {
+        return fileService.uploadFile(duplicate, 1L);
+    }
+
+    /**
+     * 新内容：在重复路径之外再做原子移动和元数据插入
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 2, batchSize = NEW_UPLOAD_BATCH)
+    @Measurement(iterations = 5, batchSize = NEW_UPLOAD_BATCH)
+    public Map<String, String> uploadNew() {
+        byte[] bytes = content.clone();
+        ByteBuffer.wrap(bytes).putLong(++sequence);
+        return fileService.uploadFile(new MockMultipartFile("file", "new.bin", "application/octet-stream", bytes), 1L);
+    }
+}